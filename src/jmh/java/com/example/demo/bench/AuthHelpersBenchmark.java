@@ -0,0 +1,47 @@
+package com.example.demo.bench;
+
+import com.example.demo.auth.AuthContext;
+import com.example.demo.auth.TokenHashes;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Scope.Thread so the security context is set on the thread that runs the benchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthHelpersBenchmark {
+
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        refreshToken = UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID();
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "42", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String sha256Hex() {
+        // AuthController.sha256Hex delegates here
+        return TokenHashes.sha256Hex(refreshToken);
+    }
+
+    @Benchmark
+    public Long userIdOrNull() {
+        return AuthContext.userIdOrNull();
+    }
+}
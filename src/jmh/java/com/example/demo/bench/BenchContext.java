@@ -0,0 +1,55 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// boots the real application against in-memory H2 (PostgreSQL mode) for benchmarks that need the DB
+public final class BenchContext {
+    private BenchContext() {}
+
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(DemoApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.security.oauth2.client.registration.google.client-id=bench",
+                        "spring.security.oauth2.client.registration.google.client-secret=bench",
+                        "spring.security.oauth2.client.registration.google.scope=openid",
+                        "app.jwt.secret=" + SampleText.JWT_SECRET,
+                        "app.security.bcryptCost=4",
+                        "app.board.popularCheckpointPath=",
+                        "app.rateLimit.enabled=false",
+                        "app.db.replica.url=",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    public static void seedPosts(ConfigurableApplicationContext ctx, String boardKey, int count) {
+        JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+        SampleText text = new SampleText(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{boardKey, text.title(), text.author(), text.content(400), now, now, (long) i});
+            if (batch.size() == 1000 || i == count - 1) {
+                jdbc.batchUpdate("""
+                        insert into board_posts (board_key, title, author, content, created_at, updated_at, views)
+                        values (?, ?, ?, ?, ?, ?, ?)
+                        """, batch);
+                batch.clear();
+            }
+        }
+    }
+}
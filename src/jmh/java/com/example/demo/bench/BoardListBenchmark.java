@@ -0,0 +1,51 @@
+package com.example.demo.bench;
+
+import com.example.demo.board.dto.BoardPostListResponse;
+import com.example.demo.board.service.BoardPostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BoardListBenchmark {
+
+    private static final int POSTS = 20_000;
+
+    private ConfigurableApplicationContext ctx;
+    private BoardPostService service;
+    private long deepCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ctx = BenchContext.start();
+        BenchContext.seedPosts(ctx, "board1", POSTS);
+        service = ctx.getBean(BoardPostService.class);
+        deepCursor = service.list("board1", 500, 20, null).getNextCursor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public BoardPostListResponse firstPage() {
+        return service.list("board1", 1, 20, null);
+    }
+
+    @Benchmark
+    public BoardPostListResponse page500() {
+        return service.list("board1", 500, 20, null);
+    }
+
+    @Benchmark
+    public BoardPostListResponse cursorAtPage500() {
+        return service.listAfter("board1", deepCursor, 20, null, false);
+    }
+}
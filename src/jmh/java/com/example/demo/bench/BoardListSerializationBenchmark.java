@@ -0,0 +1,41 @@
+package com.example.demo.bench;
+
+import com.example.demo.board.dto.BoardPostListResponse;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardListSerializationBenchmark {
+
+    @Param({"20", "50"})
+    public int size;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private BoardPostListResponse page;
+
+    @Setup
+    public void setUp() {
+        SampleText text = new SampleText(7);
+        LocalDateTime now = LocalDateTime.now();
+        List<BoardPostListResponse.Item> items = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            items.add(new BoardPostListResponse.Item((long) (100_000 - i), text.title(), text.author(), now, now, (long) i * 3));
+        }
+        page = new BoardPostListResponse(items, 100_000L, items.get(size - 1).getId());
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(page);
+    }
+}
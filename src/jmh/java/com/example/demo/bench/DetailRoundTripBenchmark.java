@@ -0,0 +1,152 @@
+package com.example.demo.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detail read with a view count: UPDATE then SELECT (two round-trips) against a single
+ * UPDATE ... RETURNING, under 16 concurrent connections. Needs a real PostgreSQL since the
+ * cost being measured is the network round-trip; point DB_URL / DB_USERNAME / DB_PASSWORD
+ * at it. Rows are seeded under board_key 'bench' and removed afterwards.
+ *
+ * ./gradlew jmh -Pjmh.include=DetailRoundTripBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class DetailRoundTripBenchmark {
+
+    private static final String BOARD = "bench";
+    private static final int POSTS = 10_000;
+
+    private static final String INCREMENT_SQL =
+            "update board_posts set views = views + 1 where id = ? and board_key = ?";
+    private static final String SELECT_SQL = """
+            select id, board_key, title, author, content, created_at, updated_at, views, author_user_id
+            from board_posts where id = ? and board_key = ?
+            """;
+    private static final String RETURNING_SQL = """
+            update board_posts set views = views + 1 where id = ? and board_key = ?
+            returning id, board_key, title, author, content, created_at, updated_at, views, author_user_id
+            """;
+
+    // ids are not contiguous (other rows, earlier runs), so pick from the seeded ones
+    long[] ids;
+
+    @Setup(Level.Trial)
+    public void seed() throws SQLException {
+        try (Connection con = connect()) {
+            con.setAutoCommit(false);
+            try (Statement st = con.createStatement()) {
+                st.executeUpdate("delete from board_posts where board_key = '" + BOARD + "'");
+            }
+            try (PreparedStatement ps = con.prepareStatement("""
+                    insert into board_posts (board_key, title, author, content, password_hash, created_at, updated_at, views)
+                    values (?, ?, ?, ?, null, now(), now(), 0)
+                    """)) {
+                SampleText text = new SampleText(42);
+                for (int i = 0; i < POSTS; i++) {
+                    ps.setString(1, BOARD);
+                    ps.setString(2, text.title());
+                    ps.setString(3, text.author());
+                    ps.setString(4, text.content(400));
+                    ps.addBatch();
+                    if (i % 1000 == 999) ps.executeBatch();
+                }
+                ps.executeBatch();
+            }
+            ids = new long[POSTS];
+            try (Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery("select id from board_posts where board_key = '" + BOARD + "'")) {
+                int n = 0;
+                while (rs.next()) ids[n++] = rs.getLong(1);
+            }
+            con.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void clean() throws SQLException {
+        try (Connection con = connect(); Statement st = con.createStatement()) {
+            st.executeUpdate("delete from board_posts where board_key = '" + BOARD + "'");
+        }
+    }
+
+    // one autocommit connection per benchmark thread, like a pooled connection per request
+    @State(Scope.Thread)
+    public static class Session {
+        Connection con;
+        PreparedStatement increment;
+        PreparedStatement select;
+        PreparedStatement returning;
+
+        @Setup(Level.Trial)
+        public void open() throws SQLException {
+            con = connect();
+            increment = con.prepareStatement(INCREMENT_SQL);
+            select = con.prepareStatement(SELECT_SQL);
+            returning = con.prepareStatement(RETURNING_SQL);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            con.close();
+        }
+    }
+
+    @Benchmark
+    public void updateThenSelect(Session s, Blackhole bh) throws SQLException {
+        long id = pick();
+        s.increment.setLong(1, id);
+        s.increment.setString(2, BOARD);
+        s.increment.executeUpdate();
+        s.select.setLong(1, id);
+        s.select.setString(2, BOARD);
+        consume(s.select, bh);
+    }
+
+    @Benchmark
+    public void updateReturning(Session s, Blackhole bh) throws SQLException {
+        long id = pick();
+        s.returning.setLong(1, id);
+        s.returning.setString(2, BOARD);
+        consume(s.returning, bh);
+    }
+
+    private long pick() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static void consume(PreparedStatement ps, Blackhole bh) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getLong(1));
+                bh.consume(rs.getString(3));
+                bh.consume(rs.getString(5));
+                bh.consume(rs.getTimestamp(6));
+                bh.consume(rs.getLong(8));
+            }
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        String url = System.getenv("DB_URL");
+        if (url == null || !url.startsWith("jdbc:postgresql:")) {
+            throw new IllegalStateException("DetailRoundTripBenchmark needs DB_URL pointing at PostgreSQL");
+        }
+        return DriverManager.getConnection(url, System.getenv("DB_USERNAME"), System.getenv("DB_PASSWORD"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.bench;
+
+import com.example.demo.auth.jwt.JwtAuthenticationCache;
+import com.example.demo.auth.jwt.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost. {@code perRequestParse} is what JwtAuthFilter used to do
+ * (new parser, full verification, new Authentication); {@code cachedAuthenticate} is the
+ * current path through JwtAuthenticationCache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwt;
+    private JwtAuthenticationCache cache;
+    private Key key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwt = new JwtUtil(SampleText.JWT_SECRET, 900);
+        cache = new JwtAuthenticationCache(jwt, new SimpleMeterRegistry(), 10_000);
+        key = Keys.hmacShaKeyFor(SampleText.JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+        token = jwt.createAccessToken(42L, "USER");
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return jwt.createAccessToken(42L, "USER");
+    }
+
+    @Benchmark
+    public Jws<Claims> parse() {
+        return jwt.parse(token);
+    }
+
+    @Benchmark
+    public Authentication perRequestParse() {
+        Jws<Claims> jws = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        return new UsernamePasswordAuthenticationToken(
+                jws.getBody().getSubject(),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + jws.getBody().get("role")))
+        );
+    }
+
+    @Benchmark
+    public Authentication cachedAuthenticate() {
+        return cache.authenticate(token);
+    }
+}
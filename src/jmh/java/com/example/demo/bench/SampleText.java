@@ -0,0 +1,47 @@
+package com.example.demo.bench;
+
+import java.util.Random;
+
+// deterministic Korean/English mixed text, roughly what the boards contain
+public final class SampleText {
+
+    public static final String JWT_SECRET = "bench-secret-bench-secret-bench-secret-0123456789";
+
+    private static final String[] WORDS = {
+            "칭찬합시다", "감사합니다", "용산구", "주민센터", "친절한", "직원", "도움", "민원", "처리", "빠르게",
+            "정말", "좋았어요", "이웃", "봉사", "행사", "공원", "청소", "안내", "상담", "추천",
+            "thanks", "great", "service", "community", "volunteer", "park", "clean", "help", "staff", "kind"
+    };
+    private static final String[] NAMES = {"김민수", "이서연", "박지훈", "최유진", "guest", "Alex", "정하늘"};
+
+    private final Random random;
+
+    public SampleText(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public String title() {
+        return words(3 + random.nextInt(5));
+    }
+
+    public String author() {
+        return NAMES[random.nextInt(NAMES.length)];
+    }
+
+    public String content(int approxChars) {
+        StringBuilder sb = new StringBuilder(approxChars + 16);
+        while (sb.length() < approxChars) {
+            sb.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(10) == 0 ? ".\n" : " ");
+        }
+        return sb.toString();
+    }
+
+    private String words(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.board.search;
+
+import com.example.demo.bench.SampleText;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search over 100k posts: bigram candidates from {@link NgramIndex} versus a linear
+ * lower(text) LIKE '%q%' style scan, which is what findPage does per search without
+ * the index. The index side excludes the per-page database recheck of candidates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class NgramIndexBenchmark {
+
+    @Param({"100000"})
+    public int posts;
+
+    @Param({"친절한 직원", "volunteer", "용산구 주민센터"})
+    public String query;
+
+    private NgramIndex index;
+    private String[] texts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SampleText text = new SampleText(1);
+        index = new NgramIndex();
+        texts = new String[posts];
+        for (int i = 0; i < posts; i++) {
+            String t = text.title() + "\n" + text.content(600);
+            texts[i] = t;
+            index.put(i + 1, t);
+        }
+    }
+
+    @Benchmark
+    public long[] indexCandidates() {
+        return index.candidates(query);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        String q = query.toLowerCase(Locale.ROOT);
+        int hits = 0;
+        for (String t : texts) {
+            if (t.toLowerCase(Locale.ROOT).contains(q)) hits++;
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator: {@code load.clients} simulated users, each sending its next
+ * request as soon as the previous one finishes, with a weighted mix of list / search /
+ * detail / create / login / refresh. Requests are async, so thousands of clients need
+ * only a handful of threads. Writes a JSON report per run for trend comparison.
+ *
+ * <pre>
+ * ./gradlew loadTest -Pload.baseUrl=http://localhost:8080 -Pload.clients=500 -Pload.durationSeconds=120 \
+ *   -Pload.mix=list:50,search:15,detail:25,create:4,login:3,refresh:3
+ * </pre>
+ * Login uses users created by {@link Seeder}. Start the target with RATE_LIMIT_ENABLED=false,
+ * otherwise the single load host is throttled like one abusive client.
+ * <p>
+ * To compare a change against its baseline, run both builds on the same seeded database
+ * with the same clients, mix and duration, and tell the reports apart with
+ * {@code -Pload.label=baseline} / {@code -Pload.label=<change>}. No results have been
+ * recorded in this repository yet.
+ */
+public class LoadRunner {
+
+    private static final Pattern REFRESH_COOKIE = Pattern.compile("refresh_token=([^;]+)");
+    private static final Pattern FIRST_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final String baseUrl;
+    private final String label;
+    private final int clients;
+    private final long deadlineNanos;
+    private final int seededUsers;
+    private final String[] ops;
+    private final int[] cumulativeWeights;
+    private final Map<String, Stats> stats = new LinkedHashMap<>();
+    private final HttpClient http;
+    private long maxPostId;
+
+    public static void main(String[] args) throws Exception {
+        new LoadRunner().run();
+    }
+
+    LoadRunner() {
+        baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        label = System.getProperty("load.label", "run");
+        clients = Integer.getInteger("load.clients", 200);
+        seededUsers = Integer.getInteger("load.users", 10_000);
+        long durationSeconds = Long.getLong("load.durationSeconds", 60);
+        deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        String[] parts = System.getProperty("load.mix", "list:50,search:15,detail:25,create:4,login:3,refresh:3").split(",");
+        ops = new String[parts.length];
+        cumulativeWeights = new int[parts.length];
+        int sum = 0;
+        for (int i = 0; i < parts.length; i++) {
+            String[] kv = parts[i].split(":");
+            ops[i] = kv[0].trim();
+            sum += Integer.parseInt(kv[1].trim());
+            cumulativeWeights[i] = sum;
+            stats.put(ops[i], new Stats());
+        }
+
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    void run() throws Exception {
+        HttpResponse<String> first = http.send(get("/api/boards/board1/posts?page=1&size=1"), HttpResponse.BodyHandlers.ofString());
+        Matcher m = FIRST_ID.matcher(first.body());
+        maxPostId = m.find() ? Long.parseLong(m.group(1)) : 1;
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            new Client(done).next();
+        }
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        String json = report(startedAt, seconds);
+        Path out = Path.of(System.getProperty("load.reportDir", "build/reports/loadtest"))
+                .resolve("loadtest-" + label + "-" + startedAt.toString().replace(':', '-') + ".json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, json);
+        System.out.println(json);
+        System.out.println("report: " + out.toAbsolutePath());
+    }
+
+    private String pickOp() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) return ops[i];
+        }
+        return ops[ops.length - 1];
+    }
+
+    private final class Client {
+        private final CountDownLatch done;
+        private String refreshCookie;
+
+        Client(CountDownLatch done) {
+            this.done = done;
+        }
+
+        void next() {
+            if (System.nanoTime() >= deadlineNanos) {
+                done.countDown();
+                return;
+            }
+            String op = pickOp();
+            HttpRequest request = build(op);
+            long t0 = System.nanoTime();
+            http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((res, err) -> {
+                long nanos = System.nanoTime() - t0;
+                boolean ok = err == null && res.statusCode() < 400;
+                stats.get(op).record(nanos, ok, err == null ? res.statusCode() : -1);
+                if (err == null && ("login".equals(op) || "refresh".equals(op))) {
+                    res.headers().allValues("set-cookie").forEach(c -> {
+                        Matcher m = REFRESH_COOKIE.matcher(c);
+                        if (m.find() && !m.group(1).isEmpty()) refreshCookie = m.group(1);
+                    });
+                }
+                next();
+            });
+        }
+
+        private HttpRequest build(String op) {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            return switch (op) {
+                case "list" -> get("/api/boards/board1/posts?page=" + (1 + r.nextInt(50)) + "&size=20");
+                case "search" -> get("/api/boards/board1/posts?size=20&q="
+                        + URLEncoder.encode(MixedText.searchTerm(), StandardCharsets.UTF_8));
+                case "detail" -> get("/api/boards/board1/posts/" + (1 + r.nextLong(Math.max(maxPostId, 1))));
+                case "create" -> post("/api/boards/board1/posts", """
+                        {"title":"%s","author":"%s","content":"%s","password":"loadtest-guest"}"""
+                        .formatted(MixedText.words(4), MixedText.name(), MixedText.content(100, 1_000).replace("\n", "\\n")), null);
+                case "login" -> post("/auth/login", """
+                        {"email":"load-%d@load.test","password":"%s"}"""
+                        .formatted(r.nextInt(seededUsers), Seeder.PASSWORD), null);
+                case "refresh" -> refreshCookie == null
+                        ? post("/auth/login", """
+                            {"email":"load-%d@load.test","password":"%s"}"""
+                            .formatted(r.nextInt(seededUsers), Seeder.PASSWORD), null)
+                        : post("/auth/refresh", "", "refresh_token=" + refreshCookie);
+                default -> throw new IllegalArgumentException("unknown op: " + op);
+            };
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, String body, String cookie) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (cookie != null) b.header("Cookie", cookie);
+        return b.build();
+    }
+
+    private String report(Instant startedAt, double seconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"label\": \"").append(label).append("\",\n");
+        sb.append("  \"startedAt\": \"").append(startedAt).append("\",\n");
+        sb.append("  \"baseUrl\": \"").append(baseUrl).append("\",\n");
+        sb.append("  \"clients\": ").append(clients).append(",\n");
+        sb.append("  \"durationSeconds\": ").append(String.format("%.1f", seconds)).append(",\n");
+        sb.append("  \"endpoints\": {");
+        String sep = "\n";
+        for (Map.Entry<String, Stats> e : stats.entrySet()) {
+            Histogram h = e.getValue().latency;
+            long count = h.getTotalCount();
+            sb.append(sep).append("    \"").append(e.getKey()).append("\": {")
+                    .append("\"count\": ").append(count)
+                    .append(", \"errors\": ").append(e.getValue().errors.get())
+                    .append(", \"rateLimited\": ").append(e.getValue().rateLimited.get())
+                    .append(", \"throughputPerSec\": ").append(String.format("%.1f", count / seconds))
+                    .append(", \"p50Ms\": ").append(millis(h, 50.0))
+                    .append(", \"p99Ms\": ").append(millis(h, 99.0))
+                    .append(", \"p999Ms\": ").append(millis(h, 99.9))
+                    .append(", \"maxMs\": ").append(String.format("%.3f", h.getMaxValue() / 1e6))
+                    .append("}");
+            sep = ",\n";
+        }
+        sb.append("\n  }\n}\n");
+        return sb.toString();
+    }
+
+    private static String millis(Histogram h, double percentile) {
+        return String.format("%.3f", h.getValueAtPercentile(percentile) / 1e6);
+    }
+
+    private static final class Stats {
+        final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong rateLimited = new AtomicLong();
+
+        void record(long nanos, boolean ok, int status) {
+            latency.recordValue(Math.min(nanos, latency.getHighestTrackableValue()));
+            if (!ok) errors.incrementAndGet();
+            if (status == 429) rateLimited.incrementAndGet();
+        }
+    }
+}
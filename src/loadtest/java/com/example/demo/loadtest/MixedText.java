@@ -0,0 +1,46 @@
+package com.example.demo.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Korean/English mixed words for seeded posts and search terms
+final class MixedText {
+    private MixedText() {}
+
+    static final String[] WORDS = {
+            "칭찬합시다", "감사합니다", "용산구", "주민센터", "친절한", "직원", "도움", "민원", "처리", "빠르게",
+            "정말", "좋았어요", "이웃", "봉사", "행사", "공원", "청소", "안내", "상담", "추천",
+            "어르신", "도서관", "주차", "버스", "안전", "축제", "문화", "체육", "복지", "교육",
+            "thanks", "great", "service", "community", "volunteer", "park", "clean", "help", "staff", "kind",
+            "library", "festival", "parking", "safety", "welfare", "friendly", "quick", "neighbor"
+    };
+    static final String[] NAMES = {"김민수", "이서연", "박지훈", "최유진", "정하늘", "한지민", "guest", "Alex", "Jordan"};
+
+    static String words(int n) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[r.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    static String content(int minChars, int maxChars) {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        int target = minChars + r.nextInt(Math.max(1, maxChars - minChars));
+        StringBuilder sb = new StringBuilder(target + 16);
+        while (sb.length() < target) {
+            sb.append(WORDS[r.nextInt(WORDS.length)]).append(r.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        return sb.toString();
+    }
+
+    static String name() {
+        return NAMES[ThreadLocalRandom.current().nextInt(NAMES.length)];
+    }
+
+    static String searchTerm() {
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        return r.nextBoolean() ? WORDS[r.nextInt(WORDS.length)] : words(2);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Seeds app_users and board_posts directly over JDBC.
+ *
+ * <pre>
+ * DB_URL=jdbc:postgresql://localhost:5432/demo?reWriteBatchedInserts=true DB_USERNAME=.. DB_PASSWORD=.. \
+ *   ./gradlew loadSeed -Pload.users=10000 -Pload.posts=1000000
+ * </pre>
+ * Every seeded user is {@code load-<n>@load.test} with password {@link #PASSWORD}.
+ */
+public class Seeder {
+
+    static final String PASSWORD = "loadtest-password";
+    private static final int BATCH = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("load.users", 10_000);
+        int posts = Integer.getInteger("load.posts", 1_000_000);
+
+        try (Connection con = DriverManager.getConnection(
+                System.getenv("DB_URL"), System.getenv("DB_USERNAME"), System.getenv("DB_PASSWORD"))) {
+            con.setAutoCommit(false);
+            seedUsers(con, users);
+            seedPosts(con, posts);
+        }
+    }
+
+    private static void seedUsers(Connection con, int count) throws Exception {
+        // one hash for everyone: seeding should not spend minutes in BCrypt
+        String hash = new BCryptPasswordEncoder(Integer.getInteger("load.bcryptCost", 12)).encode(PASSWORD);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long start = System.nanoTime();
+
+        try (PreparedStatement ps = con.prepareStatement("""
+                insert into app_users (email, password_hash, role, name, created_at, updated_at)
+                values (?, ?, 'USER', ?, ?, ?)
+                on conflict (email) do nothing
+                """)) {
+            for (int i = 0; i < count; i++) {
+                ps.setString(1, "load-" + i + "@load.test");
+                ps.setString(2, hash);
+                ps.setString(3, MixedText.name());
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+                ps.addBatch();
+                if ((i + 1) % BATCH == 0 || i == count - 1) {
+                    ps.executeBatch();
+                    con.commit();
+                }
+            }
+        }
+        System.out.printf("users: %d in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void seedPosts(Connection con, int count) throws Exception {
+        long start = System.nanoTime();
+        LocalDateTime base = LocalDateTime.now().minusDays(365);
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+
+        try (PreparedStatement ps = con.prepareStatement("""
+                insert into board_posts (board_key, title, author, content, created_at, updated_at, views)
+                values (?, ?, ?, ?, ?, ?, ?)
+                """)) {
+            for (int i = 0; i < count; i++) {
+                Timestamp at = Timestamp.valueOf(base.plusSeconds((long) i * 365 * 86400 / Math.max(count, 1)));
+                ps.setString(1, r.nextInt(4) == 0 ? "board2" : "board1");
+                ps.setString(2, MixedText.words(3 + r.nextInt(6)));
+                ps.setString(3, MixedText.name());
+                ps.setString(4, MixedText.content(200, r.nextInt(50) == 0 ? 20_000 : 2_000));
+                ps.setTimestamp(5, at);
+                ps.setTimestamp(6, at);
+                ps.setLong(7, r.nextInt(500));
+                ps.addBatch();
+                if ((i + 1) % BATCH == 0 || i == count - 1) {
+                    ps.executeBatch();
+                    con.commit();
+                    if ((i + 1) % 100_000 == 0) System.out.printf("posts: %d%n", i + 1);
+                }
+            }
+        }
+        System.out.printf("posts: %d in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.demo.auth.controller;
 
+import com.example.demo.auth.TokenHashes;
 import com.example.demo.auth.entity.AppUser;
 import com.example.demo.auth.entity.RefreshToken;
 import com.example.demo.auth.jwt.JwtUtil;
-import com.example.demo.auth.repository.AppUserRepository;
 import com.example.demo.auth.repository.RefreshTokenRepository;
+import com.example.demo.auth.service.AppUserCache;
+import com.example.demo.auth.service.AppUserCache.CachedUser;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -19,9 +21,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.MessageDigest;
 import java.time.LocalDateTime;
-import java.util.HexFormat;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,7 +30,7 @@ import java.util.UUID;
 @RequestMapping("/auth")
 public class AuthController {
 
-    private final AppUserRepository users;
+    private final AppUserCache users;
     private final RefreshTokenRepository refreshTokens;
     private final JwtUtil jwt;
 
@@ -40,7 +40,7 @@ public class AuthController {
     private final PasswordEncoder encoder;
 
     public AuthController(
-            AppUserRepository users,
+            AppUserCache users,
             RefreshTokenRepository refreshTokens,
             JwtUtil jwt,
             PasswordEncoder encoder,
@@ -59,18 +59,23 @@ public class AuthController {
     public ResponseEntity<?> login(@Valid @RequestBody LoginReq req, HttpServletResponse res) {
         String email = req.getEmail().trim().toLowerCase();
 
-        AppUser u = users.findByEmail(email).orElse(null);
-        if (u == null || !encoder.matches(req.getPassword(), u.getPasswordHash())) {
+        CachedUser u = users.findByEmail(email).orElse(null);
+        if (u == null || !encoder.matches(req.getPassword(), u.passwordHash())) {
             return ResponseEntity.status(401).body(new Msg("Invalid credentials"));
         }
 
-        String accessToken = jwt.createAccessToken(u.getId(), u.getRole());
+        // cost was raised since this hash was made: re-hash while we have the plain password
+        if (encoder.upgradeEncoding(u.passwordHash())) {
+            users.updatePasswordHash(u.id(), encoder.encode(req.getPassword()));
+        }
+
+        String accessToken = jwt.createAccessToken(u.id(), u.role());
 
         String rawRefresh = UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID();
         String refreshHash = sha256Hex(rawRefresh);
 
         LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(refreshTtlSeconds);
-        refreshTokens.save(new RefreshToken(u.getId(), refreshHash, expiresAt));
+        refreshTokens.save(new RefreshToken(u.id(), refreshHash, expiresAt));
 
         setRefreshCookie(res, rawRefresh, (int) refreshTtlSeconds);
 
@@ -82,29 +87,18 @@ public class AuthController {
         String raw = readCookie(req, refreshCookieName).orElse(null);
         if (raw == null) return ResponseEntity.status(401).body(new Msg("No refresh cookie"));
 
-        String hash = sha256Hex(raw);
-
-        RefreshToken rt = refreshTokens.findTopByTokenHashAndRevokedAtIsNull(hash)
-                .orElse(null);
-
-        if (rt == null) return ResponseEntity.status(401).body(new Msg("Invalid refresh"));
-        if (rt.getExpiresAt().isBefore(LocalDateTime.now())) return ResponseEntity.status(401).body(new Msg("Refresh expired"));
-
-        AppUser u = users.findById(rt.getUserId()).orElse(null);
-        if (u == null) return ResponseEntity.status(401).body(new Msg("Invalid refresh"));
-
-        // ✅ ROTATE refresh token: revoke old + issue new
-        rt.revokeNow();
-        refreshTokens.save(rt);
-
         String newRawRefresh = UUID.randomUUID().toString().replace("-", "") + UUID.randomUUID();
-        String newHash = sha256Hex(newRawRefresh);
-        LocalDateTime newExpiresAt = LocalDateTime.now().plusSeconds(refreshTtlSeconds);
+        LocalDateTime now = LocalDateTime.now();
+
+        // ✅ ROTATE refresh token: revoke old + issue new, atomically in one statement
+        RefreshTokenRepository.Rotated rotated = refreshTokens.rotate(
+                sha256Hex(raw), sha256Hex(newRawRefresh), now.plusSeconds(refreshTtlSeconds), now
+        ).orElse(null);
+        if (rotated == null) return ResponseEntity.status(401).body(new Msg("Invalid refresh"));
 
-        refreshTokens.save(new RefreshToken(u.getId(), newHash, newExpiresAt));
         setRefreshCookie(res, newRawRefresh, (int) refreshTtlSeconds);
 
-        String newAccess = jwt.createAccessToken(u.getId(), u.getRole());
+        String newAccess = jwt.createAccessToken(rotated.getUserId(), rotated.getRole());
         return ResponseEntity.ok(new RefreshRes(newAccess));
     }
 
@@ -126,7 +120,7 @@ public class AuthController {
     public ResponseEntity<?> me(org.springframework.security.core.Authentication auth) {
         if (auth == null) return ResponseEntity.status(401).build();
         Long userId = Long.valueOf(String.valueOf(auth.getPrincipal()));
-        AppUser u = users.findById(userId).orElseThrow();
+        CachedUser u = users.findById(userId).orElseThrow();
         return ResponseEntity.ok(new UserRes(u));
     }
 
@@ -156,13 +150,7 @@ public class AuthController {
     }
 
     private String sha256Hex(String raw) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] dig = md.digest(raw.getBytes());
-            return HexFormat.of().formatHex(dig);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return TokenHashes.sha256Hex(raw);
     }
 
     @Data
@@ -179,7 +167,7 @@ public class AuthController {
     public record Msg(String message) {}
 
     public record UserRes(Long id, String email, String role, String name) {
-        public UserRes(AppUser u) { this(u.getId(), u.getEmail(), u.getRole(), u.getName()); }
+        public UserRes(CachedUser u) { this(u.id(), u.email(), u.role(), u.name()); }
     }
 
     @PostMapping("/signup")
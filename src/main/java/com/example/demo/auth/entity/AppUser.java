@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class AppUser {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_users_id")
+    @SequenceGenerator(name = "app_users_id", sequenceName = "app_users_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 255)
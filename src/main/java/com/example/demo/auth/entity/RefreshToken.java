@@ -13,7 +13,8 @@ import java.time.LocalDateTime;
 public class RefreshToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auth_refresh_tokens_id")
+    @SequenceGenerator(name = "auth_refresh_tokens_id", sequenceName = "auth_refresh_tokens_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name="user_id", nullable=false)
@@ -1,28 +1,23 @@
 package com.example.demo.auth.jwt;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwt;
+    private final JwtAuthenticationCache verified;
 
-    public JwtAuthFilter(JwtUtil jwt) {
-        this.jwt = jwt;
+    public JwtAuthFilter(JwtAuthenticationCache verified) {
+        this.verified = verified;
     }
 
     @Override
@@ -36,16 +31,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                Jws<Claims> jws = jwt.parse(token);
-                String userId = jws.getBody().getSubject();
-                String role = String.valueOf(jws.getBody().get("role"));
-
-                var auth = new UsernamePasswordAuthenticationToken(
-                        userId,
-                        null,
-                        List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                );
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                SecurityContextHolder.getContext().setAuthentication(verified.authenticate(token));
             } catch (Exception ignored) {
                 // invalid token -> treat as unauthenticated
                 SecurityContextHolder.clearContext();
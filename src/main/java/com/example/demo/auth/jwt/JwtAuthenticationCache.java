@@ -0,0 +1,84 @@
+package com.example.demo.auth.jwt;
+
+import com.example.demo.auth.TokenHashes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verified access tokens, keyed by SHA-256 of the token and kept until the token's exp,
+ * so repeat requests skip HMAC verification and claim parsing and reuse one
+ * Authentication instance.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final JwtUtil jwt;
+    private final Cache<ByteBuffer, Verified> cache;
+
+    public JwtAuthenticationCache(
+            JwtUtil jwt,
+            MeterRegistry meters,
+            @Value("${app.jwt.verifiedCacheSize}") long maxSize
+    ) {
+        this.jwt = jwt;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "jwtVerified");
+    }
+
+    private record Verified(Authentication auth, long expiresAtMillis) {}
+
+    /** Throws io.jsonwebtoken.JwtException for invalid or expired tokens. */
+    public Authentication authenticate(String token) {
+        ByteBuffer key = ByteBuffer.wrap(TokenHashes.sha256(token));
+        Verified hit = cache.getIfPresent(key);
+        if (hit != null && hit.expiresAtMillis() > System.currentTimeMillis()) {
+            return hit.auth();
+        }
+
+        Claims claims = jwt.parse(token).getBody();
+        Authentication auth = new UsernamePasswordAuthenticationToken(
+                claims.getSubject(),
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + claims.get("role")))
+        );
+        Date exp = claims.getExpiration();
+        if (exp != null) cache.put(key, new Verified(auth, exp.getTime()));
+        return auth;
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<ByteBuffer, Verified> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Verified value, long currentTime) {
+            long millis = value.expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Verified value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Verified value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
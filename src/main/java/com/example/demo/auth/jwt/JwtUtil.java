@@ -14,6 +14,7 @@ import java.util.Date;
 public class JwtUtil {
 
     private final Key key;
+    private final JwtParser parser; // immutable and thread-safe, so build it once
     private final long accessTtlSeconds;
 
     public JwtUtil(
@@ -21,6 +22,9 @@ public class JwtUtil {
             @Value("${app.jwt.accessTtlSeconds}") long accessTtlSeconds
     ) {
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
         this.accessTtlSeconds = accessTtlSeconds;
     }
 
@@ -38,9 +42,6 @@ public class JwtUtil {
     }
 
     public Jws<Claims> parse(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
+        return parser.parseClaimsJws(token);
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.demo.auth.password;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a small fixed pool with a bounded queue. A burst of logins or guest
+ * edits can then occupy at most {@code threads} cores; anything beyond the queue is
+ * rejected right away with {@link HashingBusyException} instead of piling up on
+ * request threads.
+ * <p>
+ * This bounds CPU, not request threads: an accepted caller still blocks on the result
+ * while its hash waits in the queue and runs.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    // never calibrate below Spring Security's recommended minimum, however slow the machine
+    static final int MIN_COST = 12;
+    static final int MAX_COST = 14;
+    private static final int PROBE_COST = 10;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int cost;
+    private final Timer encodeTime;
+    private final Timer matchTime;
+
+    public BoundedPasswordEncoder(int cost, int threads, int queueCapacity, MeterRegistry meters) {
+        this(cost, new BCryptPasswordEncoder(cost), threads, queueCapacity, meters);
+    }
+
+    // tests swap in a delegate they can hold on the pool
+    BoundedPasswordEncoder(int cost, PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meters) {
+        this.cost = cost;
+        this.delegate = delegate;
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // time on the hashing thread only; queueing shows up in the endpoint latency
+        this.encodeTime = hashTimer("encode", meters);
+        this.matchTime = hashTimer("matches", meters);
+        Gauge.builder("app.password.hash.queued", executor, e -> e.getQueue().size()).register(meters);
+    }
+
+    private static Timer hashTimer(String op, MeterRegistry meters) {
+        return Timer.builder("app.password.hash")
+                .description("BCrypt hashing time")
+                .tag("op", op)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    /**
+     * Picks the cost whose hash time is closest to {@code targetMillis} without going under it,
+     * from one timed hash at cost 10 (each extra cost step doubles the work), then clamps it
+     * to {@link #MIN_COST}..{@link #MAX_COST}.
+     */
+    public static int calibrateCost(long targetMillis) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_COST);
+        probe.encode("warm-up-password");
+        long start = System.nanoTime();
+        probe.encode("calibration-password");
+        double millis = Math.max((System.nanoTime() - start) / 1_000_000.0, 1.0);
+
+        int cost = PROBE_COST;
+        while (cost < MAX_COST && millis < targetMillis) {
+            millis *= 2;
+            cost++;
+        }
+        return Math.max(cost, MIN_COST);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTime.recordCallable(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> matchTime.recordCallable(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // BCrypt reports true when the stored hash has a lower cost than the current one
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingBusyException();
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.demo.auth.password;
+
+// the password hashing pool and its queue are full; mapped to 429 by GlobalExceptionHandler
+public class HashingBusyException extends RuntimeException {
+    public HashingBusyException() {
+        super("Server is busy. Please retry shortly.");
+    }
+}
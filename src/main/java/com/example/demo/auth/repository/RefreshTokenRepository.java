@@ -2,6 +2,10 @@ package com.example.demo.auth.repository;
 
 import com.example.demo.auth.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -9,4 +13,48 @@ import java.util.Optional;
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
     Optional<RefreshToken> findTopByTokenHashAndRevokedAtIsNull(String tokenHash);
     long deleteByExpiresAtBefore(LocalDateTime t);
-}
\ No newline at end of file
+
+    interface Rotated {
+        Long getUserId();
+        String getRole();
+    }
+
+    // revoke the presented token and issue its successor in one statement;
+    // empty when the token is unknown, already revoked, expired, or its user is gone
+    @Transactional
+    @Query(nativeQuery = true, value = """
+      with revoked as (
+        update auth_refresh_tokens
+        set revoked_at = :now
+        where token_hash = :oldHash and revoked_at is null and expires_at > :now
+        returning user_id
+      ), inserted as (
+        insert into auth_refresh_tokens (user_id, token_hash, expires_at, created_at)
+        select r.user_id, :newHash, :newExpiresAt, :now
+        from revoked r join app_users u on u.id = r.user_id
+        returning user_id
+      )
+      select u.id as "userId", u.role as "role"
+      from inserted i join app_users u on u.id = i.user_id
+    """)
+    Optional<Rotated> rotate(@Param("oldHash") String oldHash,
+                             @Param("newHash") String newHash,
+                             @Param("newExpiresAt") LocalDateTime newExpiresAt,
+                             @Param("now") LocalDateTime now);
+
+    // one short transaction per chunk; skip locked rows so a purge never waits on a refresh
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+      delete from auth_refresh_tokens
+      where id in (
+        select id from auth_refresh_tokens
+        where expires_at < :now or revoked_at < :revokedBefore
+        limit :batchSize
+        for update skip locked
+      )
+    """)
+    int purgeBatch(@Param("now") LocalDateTime now,
+                   @Param("revokedBefore") LocalDateTime revokedBefore,
+                   @Param("batchSize") int batchSize);
+}
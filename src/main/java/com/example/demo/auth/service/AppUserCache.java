@@ -0,0 +1,97 @@
+package com.example.demo.auth.service;
+
+import com.example.demo.auth.entity.AppUser;
+import com.example.demo.auth.repository.AppUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read cache of app_users by id and by email. Holds immutable snapshots rather than
+ * entities, so nothing handed out can be modified and flushed by accident; writes go
+ * through {@link #save} which evicts both keys. The TTL bounds staleness for changes
+ * made by other nodes.
+ */
+@Component
+public class AppUserCache {
+
+    public record CachedUser(Long id, String email, String passwordHash, String role, String name) {
+        static CachedUser of(AppUser u) {
+            return new CachedUser(u.getId(), u.getEmail(), u.getPasswordHash(), u.getRole(), u.getName());
+        }
+    }
+
+    private final AppUserRepository users;
+    private final Cache<Long, CachedUser> byId;
+    private final Cache<String, Long> idByEmail;
+
+    public AppUserCache(
+            AppUserRepository users,
+            MeterRegistry meters,
+            @Value("${app.auth.userCacheSize}") long size,
+            @Value("${app.auth.userCacheTtlSeconds}") long ttlSeconds
+    ) {
+        this.users = users;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, byId, "appUsersById");
+        CaffeineCacheMetrics.monitor(meters, idByEmail, "appUsersByEmail");
+    }
+
+    public Optional<CachedUser> findById(Long id) {
+        return Optional.ofNullable(byId.get(id, k -> users.findById(k).map(CachedUser::of).orElse(null)));
+    }
+
+    public Optional<CachedUser> findByEmail(String email) {
+        Long id = idByEmail.getIfPresent(email);
+        if (id != null) {
+            CachedUser cached = findById(id).orElse(null);
+            // the email may have changed under a stale mapping
+            if (cached != null && cached.email().equals(email)) return Optional.of(cached);
+            idByEmail.invalidate(email);
+        }
+        // misses are not cached, so a signup is visible immediately
+        return users.findByEmail(email).map(u -> {
+            CachedUser cached = CachedUser.of(u);
+            byId.put(cached.id(), cached);
+            idByEmail.put(cached.email(), cached.id());
+            return cached;
+        });
+    }
+
+    public AppUser save(AppUser user) {
+        if (user.getId() != null) evict(user.getId());
+        AppUser saved = users.save(user);
+        evict(saved.getId());
+        idByEmail.invalidate(saved.getEmail());
+        return saved;
+    }
+
+    /** Updates the stored hash, e.g. after a BCrypt cost upgrade. */
+    public void updatePasswordHash(Long id, String passwordHash) {
+        users.findById(id).ifPresent(u -> {
+            u.setPasswordHash(passwordHash);
+            save(u);
+        });
+    }
+
+    public void evict(Long id) {
+        CachedUser old = byId.getIfPresent(id);
+        byId.invalidate(id);
+        if (old != null) idByEmail.invalidate(old.email());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.auth.service;
+
+import com.example.demo.auth.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+// deletes expired tokens, and revoked ones past a short retention, in small chunks
+@Component
+public class RefreshTokenPurger {
+
+    private final RefreshTokenRepository refreshTokens;
+    private final int batchSize;
+    private final long revokedRetentionSeconds;
+
+    private final AtomicLong rows;
+    private final Counter purged;
+    private final Timer runTime;
+
+    public RefreshTokenPurger(
+            RefreshTokenRepository refreshTokens,
+            MeterRegistry meters,
+            @Value("${app.auth.refreshPurgeBatchSize}") int batchSize,
+            @Value("${app.auth.revokedRetentionSeconds}") long revokedRetentionSeconds
+    ) {
+        this.refreshTokens = refreshTokens;
+        this.batchSize = batchSize;
+        this.revokedRetentionSeconds = revokedRetentionSeconds;
+
+        this.rows = meters.gauge("auth.refresh_tokens.rows", new AtomicLong());
+        this.purged = Counter.builder("auth.refresh_tokens.purged")
+                .description("Refresh tokens deleted by the purge job")
+                .register(meters);
+        this.runTime = Timer.builder("auth.refresh_tokens.purge")
+                .description("Duration of one purge run")
+                .register(meters);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.refreshPurgeIntervalMs}")
+    public void purge() {
+        runTime.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime revokedBefore = now.minusSeconds(revokedRetentionSeconds);
+            int deleted;
+            do {
+                deleted = refreshTokens.purgeBatch(now, revokedBefore, batchSize);
+                purged.increment(deleted);
+            } while (deleted == batchSize);
+            rows.set(refreshTokens.count());
+        });
+    }
+}
@@ -1,8 +0,0 @@
-package com.example.demo.board;
-
-public final class BoardKeys {
-
-    private BoardKeys() {}
-
-    public static final String PRAISE = "board1"; // 칭찬합시다
-}
\ No newline at end of file
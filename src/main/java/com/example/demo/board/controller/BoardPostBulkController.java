@@ -0,0 +1,47 @@
+package com.example.demo.board.controller;
+
+import com.example.demo.board.dto.BoardPostImportResult;
+import com.example.demo.board.service.BoardPostBulkService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+
+// admin only (see SecurityConfig); one JSON object per line in both directions
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/boards/{boardKey}/posts")
+public class BoardPostBulkController {
+
+    private final BoardPostBulkService bulk;
+
+    // ?includePasswordHashes=true makes the file credential-bearing (guest BCrypt hashes);
+    // without them guest posts cannot be imported again
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String boardKey,
+            @RequestParam(defaultValue = "false") boolean includePasswordHashes
+    ) {
+        bulk.validateBoardKey(boardKey);
+        StreamingResponseBody body = out -> {
+            BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            bulk.export(boardKey, includePasswordHashes, buffered);
+            buffered.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + boardKey + ".ndjson\"")
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public BoardPostImportResult importPosts(@PathVariable String boardKey, HttpServletRequest request) throws IOException {
+        return bulk.importRows(boardKey, request.getInputStream());
+    }
+}
@@ -1,10 +1,22 @@
 package com.example.demo.board.controller;
 
 import com.example.demo.board.dto.*;
+import com.example.demo.board.service.BoardETags;
 import com.example.demo.board.service.BoardPostService;
+import com.example.demo.board.service.BoardPostStreamHub;
+import com.example.demo.common.jdbc.ReplicaRouting;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
 
 @RestController
 @RequiredArgsConstructor
@@ -12,20 +24,67 @@ import org.springframework.web.bind.annotation.*;
 public class BoardPostController {
 
     private final BoardPostService service;
+    private final BoardETags etags;
+    private final BoardPostStreamHub stream;
+    private final ReplicaRouting replicaRouting;
 
     @GetMapping
-    public BoardPostListResponse list(
+    public ResponseEntity<BoardPostListResponse> list(
             @PathVariable String boardKey,
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(required = false) String q
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            WebRequest request
     ) {
-        return service.list(boardKey, page, size, q);
+        // board and access first: a tag must not answer 304 for a board the caller may not list
+        service.checkList(boardKey);
+        // the tag only depends on the board's change version, so 304s skip the list query
+        BoardETags.ListVersion version = etags.listVersion(boardKey);
+        if (request.checkNotModified(version.etag())) return null;
+
+        Supplier<BoardPostListResponse> read = () -> (after != null)
+                ? service.listAfter(boardKey, after, size, q, withTotal)
+                : service.list(boardKey, page, size, q);
+        // the tag already counts the last write; a replica that may not have it yet must not answer for it
+        BoardPostListResponse body = replicaRouting.hasCaughtUpTo(version.changedAtMillis())
+                ? read.get() : replicaRouting.onPrimary(read);
+        return ResponseEntity.ok().eTag(version.etag()).cacheControl(CacheControl.noCache()).body(body);
+    }
+
+    // pushes created/updated/deleted list items instead of polling the list; resumes via Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable String boardKey,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId
+    ) {
+        service.checkList(boardKey);
+        return stream.subscribe(boardKey, lastEventId);
+    }
+
+    // most viewed recently (time-decayed), refreshed in the background
+    @GetMapping("/popular")
+    public BoardPostListResponse popular(@PathVariable String boardKey, @RequestParam(defaultValue = "20") int size) {
+        return service.popular(boardKey, size);
     }
 
     @GetMapping("/{id}")
-    public BoardPostDetailResponse detail(@PathVariable String boardKey, @PathVariable Long id) {
-        return service.detail(boardKey, id);
+    public ResponseEntity<BoardPostDetailResponse> detail(@PathVariable String boardKey, @PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            LocalDateTime updatedAt = service.detailUpdatedAt(boardKey, id);
+            if (request.checkNotModified(etags.detailETag(id, updatedAt), BoardETags.toEpochMillis(updatedAt))) {
+                service.countView(boardKey, id);
+                return null;
+            }
+        }
+
+        BoardPostDetailResponse body = service.detail(boardKey, id);
+        return ResponseEntity.ok()
+                .eTag(etags.detailETag(id, body.getUpdatedAt()))
+                .lastModified(BoardETags.toEpochMillis(body.getUpdatedAt()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(body);
     }
 
     @PostMapping
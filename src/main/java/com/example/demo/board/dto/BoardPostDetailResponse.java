@@ -2,6 +2,7 @@ package com.example.demo.board.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.With;
 
 import java.time.LocalDateTime;
 
@@ -15,6 +16,7 @@ public class BoardPostDetailResponse {
     private String content;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @With
     private Long views;
     private Long authorUserId;
 }
@@ -0,0 +1,23 @@
+package com.example.demo.board.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BoardPostExportRow {
+    private Long id;
+    private String title;
+    private String author;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long views;
+    private Long authorUserId;
+    // only with ?includePasswordHashes=true
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String passwordHash;
+}
@@ -0,0 +1,21 @@
+package com.example.demo.board.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BoardPostImportResult {
+    private long imported;
+    private long rejected;
+    private List<Rejection> errors; // first rejections only, see BoardPostBulkService
+
+    @Getter
+    @AllArgsConstructor
+    public static class Rejection {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.demo.board.dto;
+
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// one NDJSON line of a bulk import; the export format reads back as-is
+@Getter
+public class BoardPostImportRow extends BoardPostWriteRequest {
+
+    // required for guest posts: a BCrypt hash, e.g. from an export with hashes; plain
+    // passwords are rejected, since hashing them would cost a BCrypt round per row
+    @Size(max = 100)
+    private String passwordHash;
+
+    private Long authorUserId;
+
+    // default to the import time
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @PositiveOrZero
+    private Long views;
+}
@@ -10,7 +10,8 @@ import java.util.List;
 @AllArgsConstructor
 public class BoardPostListResponse {
     private List<Item> items;
-    private long total;
+    private Long total; // null when the caller did not ask for it (cursor mode)
+    private Long nextCursor; // pass as ?after= to fetch the next page; null on the last page
 
     @Getter
     @AllArgsConstructor
@@ -15,7 +15,11 @@ import java.time.LocalDateTime;
 public class BoardPost {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // one id per nextval, not pooled like the other tables: newest-first order, keyset cursors
+    // and the event stream all assume ids grow with insert time across nodes. Still a sequence
+    // rather than identity, so Hibernate knows ids before flushing and can batch the inserts.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_posts_id")
+    @SequenceGenerator(name = "board_posts_id", sequenceName = "board_posts_id_seq", allocationSize = 1)
     private Long id;
 
     @Column(name = "board_key", nullable = false)
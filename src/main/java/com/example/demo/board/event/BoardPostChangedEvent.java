@@ -0,0 +1,21 @@
+package com.example.demo.board.event;
+
+import com.example.demo.board.entity.BoardPost;
+
+/**
+ * Published by BoardPostService inside the write transaction; listeners that keep
+ * in-memory state in sync should use {@code @TransactionalEventListener} so they
+ * only see committed changes.
+ */
+public record BoardPostChangedEvent(Type type, BoardPost post) {
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public String boardKey() {
+        return post.getBoardKey();
+    }
+
+    public Long postId() {
+        return post.getId();
+    }
+}
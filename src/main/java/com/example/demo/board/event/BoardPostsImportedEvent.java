@@ -0,0 +1,8 @@
+package com.example.demo.board.event;
+
+import com.example.demo.board.entity.BoardPost;
+
+import java.util.List;
+
+// one committed import batch; posts carry their generated ids
+public record BoardPostsImportedEvent(String boardKey, List<BoardPost> posts) {}
@@ -0,0 +1,43 @@
+package com.example.demo.board.policy;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+/**
+ * Request-level check for /api/boards/**: anonymous callers are stopped when the board turns
+ * them away whatever post they target. Unknown boards and paths that are not a board's posts
+ * are denied outright. BoardPostService repeats the check per call, so this is not the only
+ * line of defence.
+ */
+public final class BoardAccess {
+
+    private BoardAccess() {}
+
+    public static AuthorizationManager<RequestAuthorizationContext> manager(BoardPolicies policies) {
+        AuthenticationTrustResolver trust = new AuthenticationTrustResolverImpl();
+        return (authentication, context) -> {
+            BoardRequestPath path = BoardRequestPath.of(context.getRequest());
+            if (path == null || !policies.exists(path.boardKey())) return new AuthorizationDecision(false);
+
+            BoardPolicies.Action action = action(context.getRequest().getMethod(), path.sub());
+            boolean granted = action == null
+                    || !policies.requiresLogin(path.boardKey(), action)
+                    || trust.isAuthenticated(authentication.get());
+            return new AuthorizationDecision(granted);
+        };
+    }
+
+    static BoardPolicies.Action action(String method, String sub) {
+        return switch (method) {
+            case "GET", "HEAD" -> sub == null || "stream".equals(sub) || "popular".equals(sub)
+                    ? BoardPolicies.Action.LIST : BoardPolicies.Action.READ;
+            case "POST" -> BoardPolicies.Action.CREATE;
+            case "PUT" -> BoardPolicies.Action.UPDATE;
+            case "DELETE" -> BoardPolicies.Action.DELETE;
+            default -> null;
+        };
+    }
+}
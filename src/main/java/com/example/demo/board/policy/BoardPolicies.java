@@ -0,0 +1,103 @@
+package com.example.demo.board.policy;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Board policies compiled once into a decision table per board, indexed by action,
+ * whether the caller is logged in, and what kind of post is targeted. Checks are an
+ * immutable-map lookup plus an array read, with nothing allocated per request.
+ */
+@Component
+public class BoardPolicies {
+
+    public enum Action { LIST, READ, CREATE, UPDATE, DELETE }
+
+    /** What the caller still has to prove; ALLOW means nothing. */
+    public enum Decision {
+        ALLOW,
+        LOGIN_REQUIRED,
+        /** caller must be the post's author */
+        OWNER,
+        /** caller must present the guest post's password */
+        POST_PASSWORD,
+        /** anonymous create: caller must choose a password for the new guest post */
+        NEW_PASSWORD
+    }
+
+    /** The targeted post: none (list/create), written by a member, or by a guest. */
+    public enum PostKind { NONE, MEMBER, GUEST }
+
+    private static final int CALLERS = 2;
+    private static final int KINDS = PostKind.values().length;
+
+    private final Map<String, Decision[]> tables;
+
+    public BoardPolicies(BoardPolicyProperties properties) {
+        Map<String, Decision[]> compiled = new HashMap<>();
+        properties.boards().forEach((boardKey, policy) -> compiled.put(boardKey, compile(policy)));
+        this.tables = Map.copyOf(compiled);
+    }
+
+    public boolean exists(String boardKey) {
+        return boardKey != null && tables.containsKey(boardKey);
+    }
+
+    public void requireBoard(String boardKey) {
+        if (!exists(boardKey)) throw new EntityNotFoundException("board not found");
+    }
+
+    public Decision decide(String boardKey, Action action, boolean loggedIn, PostKind post) {
+        Decision[] table = boardKey == null ? null : tables.get(boardKey);
+        if (table == null) throw new EntityNotFoundException("board not found");
+        return table[index(action, loggedIn, post)];
+    }
+
+    /**
+     * Whether an anonymous caller is turned away whatever the post, for request-level
+     * authorization where the post is not loaded yet. Unknown boards always require it.
+     */
+    public boolean requiresLogin(String boardKey, Action action) {
+        Decision[] table = boardKey == null ? null : tables.get(boardKey);
+        if (table == null) return true;
+        for (PostKind kind : PostKind.values()) {
+            if (table[index(action, false, kind)] != Decision.LOGIN_REQUIRED) return false;
+        }
+        return true;
+    }
+
+    private static int index(Action action, boolean loggedIn, PostKind post) {
+        return (action.ordinal() * CALLERS + (loggedIn ? 1 : 0)) * KINDS + post.ordinal();
+    }
+
+    private static Decision[] compile(BoardPolicy p) {
+        Decision[] table = new Decision[Action.values().length * CALLERS * KINDS];
+        for (Action action : Action.values()) {
+            for (boolean loggedIn : new boolean[]{false, true}) {
+                for (PostKind post : PostKind.values()) {
+                    table[index(action, loggedIn, post)] = rule(p, action, loggedIn, post);
+                }
+            }
+        }
+        return table;
+    }
+
+    private static Decision rule(BoardPolicy p, Action action, boolean loggedIn, PostKind post) {
+        return switch (action) {
+            case LIST -> p.listRequiresLogin() && !loggedIn ? Decision.LOGIN_REQUIRED : Decision.ALLOW;
+            case READ -> p.readRequiresLogin() && !loggedIn ? Decision.LOGIN_REQUIRED : Decision.ALLOW;
+            case CREATE -> loggedIn ? Decision.ALLOW
+                    : p.guestWrites() ? Decision.NEW_PASSWORD : Decision.LOGIN_REQUIRED;
+            case UPDATE, DELETE -> switch (post) {
+                // guest posts are opened with their password, logged in or not
+                case GUEST -> p.guestWrites() ? Decision.POST_PASSWORD
+                        : loggedIn ? Decision.OWNER : Decision.LOGIN_REQUIRED;
+                case MEMBER, NONE -> !loggedIn ? Decision.LOGIN_REQUIRED
+                        : p.ownerCheck() == BoardPolicy.OwnerCheck.ANY_MEMBER ? Decision.ALLOW : Decision.OWNER;
+            };
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.board.policy;
+
+/**
+ * Access rules for one board, bound from {@code app.boards.<boardKey>.*}.
+ *
+ * @param listRequiresLogin list, stream and popular need a logged-in user
+ * @param readRequiresLogin post detail needs a logged-in user
+ * @param guestWrites       anonymous users may post with a password and edit/delete with it
+ * @param ownerCheck        who may edit or delete a member's post
+ */
+public record BoardPolicy(
+        boolean listRequiresLogin,
+        boolean readRequiresLogin,
+        boolean guestWrites,
+        OwnerCheck ownerCheck
+) {
+
+    public enum OwnerCheck {
+        /** only the member who wrote it */
+        OWNER,
+        /** any logged-in member */
+        ANY_MEMBER
+    }
+
+    public BoardPolicy {
+        if (ownerCheck == null) ownerCheck = OwnerCheck.OWNER;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.board.policy;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+// app.boards.<boardKey>.<field>; a board that is not listed does not exist
+@ConfigurationProperties(prefix = "app")
+public record BoardPolicyProperties(Map<String, BoardPolicy> boards) {
+
+    public BoardPolicyProperties {
+        boards = boards == null ? Map.of() : Map.copyOf(boards);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.board.policy;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Board key and first sub-segment of a {@code /api/boards/{boardKey}/posts/...} request,
+ * read from the decoded path the same way Spring MVC binds {@code @PathVariable}s. Checks
+ * made in filters must use this rather than the raw URI, where {@code %62oard2} would not
+ * look like {@code board2} but would still be routed to it.
+ *
+ * @param boardKey decoded board key
+ * @param sub      decoded segment after /posts ({@code 42}, {@code stream}, ...), or null
+ */
+public record BoardRequestPath(String boardKey, String sub) {
+
+    private static final PathPattern POSTS =
+            PathPatternParser.defaultInstance.parse("/api/boards/{boardKey}/posts/{*rest}");
+
+    /** Null when the request is not under /api/boards/{boardKey}/posts. */
+    public static BoardRequestPath of(HttpServletRequest request) {
+        PathContainer path = RequestPath.parse(request.getRequestURI(), request.getContextPath()).pathWithinApplication();
+        PathPattern.PathMatchInfo match = POSTS.matchAndExtract(path);
+        if (match == null) return null;
+
+        String rest = match.getUriVariables().get("rest");
+        String sub = null;
+        if (rest != null && rest.length() > 1) {
+            int end = rest.indexOf('/', 1);
+            sub = end < 0 ? rest.substring(1) : rest.substring(1, end);
+        }
+        return new BoardRequestPath(match.getUriVariables().get("boardKey"), sub);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.board.repository;
+
+import java.time.LocalDateTime;
+
+// detail columns straight from a native query, without hydrating a BoardPost entity
+public interface BoardPostDetailView {
+    Long getId();
+    String getBoardKey();
+    String getTitle();
+    String getAuthor();
+    String getContent();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Long getViews();
+    Long getAuthorUserId();
+}
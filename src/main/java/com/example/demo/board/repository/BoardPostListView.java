@@ -0,0 +1,13 @@
+package com.example.demo.board.repository;
+
+import java.time.LocalDateTime;
+
+// list columns only: no content / password_hash, and no managed entity behind it
+public interface BoardPostListView {
+    Long getId();
+    String getTitle();
+    String getAuthor();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Long getViews();
+}
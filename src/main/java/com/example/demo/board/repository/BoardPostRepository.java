@@ -4,30 +4,93 @@ import com.example.demo.board.entity.BoardPost;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BoardPostRepository extends JpaRepository<BoardPost, Long> {
 
+    // returns a List so Spring Data skips the count query; totals come from BoardPostCountCache
     @Query("""
-      select p from BoardPost p
+      select p.id as id, p.title as title, p.author as author,
+             p.createdAt as createdAt, p.updatedAt as updatedAt, p.views as views
+      from BoardPost p
       where p.boardKey = :boardKey
         and (:q is null or :q = '' 
              or lower(p.title) like lower(concat('%', :q, '%'))
              or lower(p.content) like lower(concat('%', :q, '%')))
     """)
-    Page<BoardPost> findPage(@Param("boardKey") String boardKey,
-                             @Param("q") String q,
-                             Pageable pageable);
+    List<BoardPostListView> findPage(@Param("boardKey") String boardKey,
+                                     @Param("q") String q,
+                                     Pageable pageable);
 
-    Optional<BoardPost> findByIdAndBoardKey(Long id, String boardKey);
+    @Query("""
+      select p.id as id, p.title as title, p.author as author,
+             p.createdAt as createdAt, p.updatedAt as updatedAt, p.views as views
+      from BoardPost p
+      where p.boardKey = :boardKey
+        and p.id < :cursor
+        and (:q is null or :q = ''
+             or lower(p.title) like lower(concat('%', :q, '%'))
+             or lower(p.content) like lower(concat('%', :q, '%')))
+      order by p.id desc
+    """)
+    List<BoardPostListView> findAfter(@Param("boardKey") String boardKey,
+                                      @Param("q") String q,
+                                      @Param("cursor") Long cursor,
+                                      Limit limit);
+
+    @Query("""
+      select count(p) from BoardPost p
+      where p.boardKey = :boardKey
+        and (:q is null or :q = ''
+             or lower(p.title) like lower(concat('%', :q, '%'))
+             or lower(p.content) like lower(concat('%', :q, '%')))
+    """)
+    long countMatching(@Param("boardKey") String boardKey, @Param("q") String q);
+
+    long countByBoardKey(String boardKey);
+
+    // recheck for search-index candidates: LIKE runs only over the given primary keys
+    @Query("""
+      select p.id from BoardPost p
+      where p.id in :ids
+        and (lower(p.title) like lower(concat('%', :q, '%'))
+             or lower(p.content) like lower(concat('%', :q, '%')))
+    """)
+    List<Long> findMatchingIds(@Param("ids") Collection<Long> ids, @Param("q") String q);
 
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("""
-  update BoardPost p
-  set p.views = p.views + 1
-  where p.boardKey = :boardKey and p.id = :id
-""")
+      select p.id as id, p.title as title, p.author as author,
+             p.createdAt as createdAt, p.updatedAt as updatedAt, p.views as views
+      from BoardPost p
+      where p.id in :ids
+    """)
+    List<BoardPostListView> findListByIdIn(@Param("ids") Collection<Long> ids);
+
+    Optional<BoardPost> findByIdAndBoardKey(Long id, String boardKey);
+
+    @Query("select p.updatedAt from BoardPost p where p.id = :id and p.boardKey = :boardKey")
+    Optional<LocalDateTime> findUpdatedAt(@Param("id") Long id, @Param("boardKey") String boardKey);
+
+    // count the view and read the detail columns in one statement (app.board.viewsMode=direct)
+    @Transactional
+    @Query(nativeQuery = true, value = """
+      update board_posts
+      set views = views + 1
+      where id = :id and board_key = :boardKey
+      returning id, board_key as "boardKey", title, author, content,
+                created_at as "createdAt", updated_at as "updatedAt", views, author_user_id as "authorUserId"
+    """)
+    Optional<BoardPostDetailView> incrementViewsReturning(@Param("boardKey") String boardKey, @Param("id") Long id);
+
+    // count the view only, when the caller already has the body (direct mode, 304 responses)
+    @Modifying
+    @Transactional
+    @Query("update BoardPost p set p.views = p.views + 1 where p.id = :id and p.boardKey = :boardKey")
     int incrementViews(@Param("boardKey") String boardKey, @Param("id") Long id);
 
 }
@@ -0,0 +1,239 @@
+package com.example.demo.board.search;
+
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.event.BoardPostsImportedEvent;
+import com.example.demo.board.repository.BoardPostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process search path for board posts. Candidates come from a bigram index per
+ * board and are rechecked with the original LIKE predicate on just those ids, so
+ * results match the LIKE path exactly. Returns null whenever the caller should
+ * fall back to the LIKE query (index disabled, still building, over its size bound,
+ * or query too short).
+ *
+ * <p>Single-node only: the index follows this process's own write events, so posts
+ * written through another node are not found until this one restarts. It is also
+ * rebuilt from a full scan on every start and held on the heap, bounded by
+ * {@code app.board.searchIndexMaxEntries}; a board set larger than that stays on LIKE.
+ */
+@Component
+public class BoardSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardSearchIndex.class);
+
+    private static final String SCAN_SQL = "select id, board_key, title, content from board_posts";
+    private static final int SCAN_FETCH_SIZE = 1000;
+    private static final int RECHECK_CHUNK = 500;
+
+    private final Map<String, NgramIndex> boards = new ConcurrentHashMap<>();
+    private final AtomicLong entries = new AtomicLong();
+    private final BoardPostRepository repository;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final boolean enabled;
+    private final int maxRecheck;
+    private final long retryMs;
+    private final long maxEntries;
+
+    private volatile boolean ready;
+    // set once the index outgrows maxEntries; from then on everything goes to LIKE
+    private volatile boolean tooLarge;
+    private volatile Set<Long> touchedDuringBuild;
+
+    public BoardSearchIndex(
+            BoardPostRepository repository,
+            JdbcTemplate jdbc,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.board.searchIndexEnabled}") boolean enabled,
+            @Value("${app.board.searchMaxRecheck}") int maxRecheck,
+            @Value("${app.board.searchIndexRetryMs}") long retryMs,
+            @Value("${app.board.searchIndexMaxEntries}") long maxEntries
+    ) {
+        this.repository = repository;
+        this.jdbc = jdbc;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxRecheck = maxRecheck;
+        this.retryMs = retryMs;
+        this.maxEntries = maxEntries;
+    }
+
+    public record SearchHits(List<Long> ids, boolean hasNext, Long total) {}
+
+    public boolean isReady() {
+        return enabled && ready && !tooLarge;
+    }
+
+    /**
+     * Matching post ids newest first, skipping {@code offset} hits after the optional
+     * {@code after} cursor. Computing the total rechecks every candidate. More than
+     * {@code maxRecheck} candidates to recheck also means null: past that, the recheck
+     * round-trips cost more than the single LIKE query.
+     */
+    public SearchHits search(String boardKey, String q, Long after, int offset, int limit, boolean withTotal) {
+        if (!isReady() || q.indexOf('%') >= 0 || q.indexOf('_') >= 0) return null;
+        long[] candidates = indexFor(boardKey).candidates(q);
+        if (candidates == null) return null;
+
+        int start = 0;
+        if (after != null) {
+            while (start < candidates.length && candidates[start] >= after) start++;
+        }
+        if (withTotal && candidates.length - start > maxRecheck) return null;
+
+        int need = withTotal ? Integer.MAX_VALUE : offset + limit + 1;
+        List<Long> verified = new ArrayList<>();
+        for (int i = start; i < candidates.length && verified.size() < need; i += RECHECK_CHUNK) {
+            if (i - start >= maxRecheck) return null;
+            long[] chunk = Arrays.copyOfRange(candidates, i, Math.min(i + RECHECK_CHUNK, candidates.length));
+            List<Long> hits = new ArrayList<>(repository.findMatchingIds(Arrays.stream(chunk).boxed().toList(), q));
+            hits.sort((a, b) -> Long.compare(b, a));
+            verified.addAll(hits);
+        }
+
+        int from = Math.min(offset, verified.size());
+        int to = Math.min(offset + limit, verified.size());
+        return new SearchHits(
+                List.copyOf(verified.subList(from, to)),
+                verified.size() > offset + limit,
+                withTotal ? (long) verified.size() : null
+        );
+    }
+
+    public Long countMatches(String boardKey, String q) {
+        SearchHits hits = search(boardKey, q, null, 0, 0, true);
+        return hits == null ? null : hits.total();
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(BoardPostChangedEvent e) {
+        if (!enabled || tooLarge) return;
+        Set<Long> touched = touchedDuringBuild;
+        if (touched != null) touched.add(e.postId());
+
+        NgramIndex index = indexFor(e.boardKey());
+        if (e.type() == BoardPostChangedEvent.Type.DELETED) {
+            entries.addAndGet(-index.remove(e.postId()));
+        } else {
+            put(index, e.postId(), text(e.post().getTitle(), e.post().getContent()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onPostsImported(BoardPostsImportedEvent e) {
+        if (!enabled || tooLarge) return;
+        Set<Long> touched = touchedDuringBuild;
+        NgramIndex index = indexFor(e.boardKey());
+        for (BoardPost p : e.posts()) {
+            if (touched != null) touched.add(p.getId());
+            put(index, p.getId(), text(p.getTitle(), p.getContent()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) return;
+        Thread t = new Thread(this::buildUntilReady, "board-search-index");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    // searches keep using the LIKE path until a build succeeds, or for good once one
+    // finds the index would not fit
+    void buildUntilReady() {
+        while (!build()) {
+            try {
+                Thread.sleep(retryMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** False if the build should be retried. */
+    boolean build() {
+        touchedDuringBuild = ConcurrentHashMap.newKeySet();
+        try {
+            // whatever a failed attempt left behind is rebuilt by this scan
+            boards.clear();
+            entries.set(0);
+            readOnlyTx.executeWithoutResult(status -> jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SCAN_SQL);
+                ps.setFetchSize(SCAN_FETCH_SIZE);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                if (tooLarge) throw new IndexTooLargeException();
+                put(indexFor(rs.getString(2)), rs.getLong(1), text(rs.getString(3), rs.getString(4)));
+            }));
+
+            // rows changed while the scan was running may have been indexed from a stale read
+            Set<Long> touched = touchedDuringBuild;
+            touchedDuringBuild = null;
+            for (Long id : touched) {
+                repository.findById(id).ifPresentOrElse(
+                        p -> put(indexFor(p.getBoardKey()), p.getId(), text(p.getTitle(), p.getContent())),
+                        () -> boards.values().forEach(index -> entries.addAndGet(-index.remove(id)))
+                );
+            }
+            ready = !tooLarge;
+            return true;
+        } catch (IndexTooLargeException e) {
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("board search index build failed, retrying in {} ms", retryMs, e);
+            return false;
+        } finally {
+            touchedDuringBuild = null;
+        }
+    }
+
+    boolean isBuilding() {
+        return touchedDuringBuild != null;
+    }
+
+    private void put(NgramIndex index, long id, String text) {
+        if (tooLarge) return;
+        if (entries.addAndGet(index.put(id, text)) > maxEntries && !tooLarge) {
+            tooLarge = true;
+            boards.clear();
+            log.warn("board search index passed {} entries; searches use LIKE until restart", maxEntries);
+        }
+    }
+
+    private static final class IndexTooLargeException extends RuntimeException {
+        IndexTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private NgramIndex indexFor(String boardKey) {
+        return boards.computeIfAbsent(boardKey, k -> new NgramIndex());
+    }
+
+    private static String text(String title, String content) {
+        return title + "\n" + (content == null ? "" : content);
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.demo.board.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Character-bigram inverted index over one board. Bigrams work for Korean without a
+ * morphological analyzer; a text containing the query contains all of its bigrams, so
+ * lookups return a superset that the caller rechecks against the database.
+ */
+final class NgramIndex {
+
+    static final int MIN_QUERY_LENGTH = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, PostingList> postings = new HashMap<>();
+    private final Map<Long, int[]> docGrams = new HashMap<>();
+
+    /** Returns the change in posting entries, for the caller's memory bound. */
+    int put(long id, String text) {
+        int[] grams = grams(normalize(text));
+        lock.writeLock().lock();
+        try {
+            int removed = removeLocked(id);
+            for (int g : grams) {
+                postings.computeIfAbsent(g, k -> new PostingList()).add(id);
+            }
+            docGrams.put(id, grams);
+            return grams.length - removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns the number of posting entries dropped. */
+    int remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int removeLocked(long id) {
+        int[] old = docGrams.remove(id);
+        if (old == null) return 0;
+        for (int g : old) {
+            PostingList list = postings.get(g);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(g);
+            }
+        }
+        return old.length;
+    }
+
+    /** Candidate ids newest first, or null if the query is too short to use bigrams. */
+    long[] candidates(String query) {
+        String q = normalize(query);
+        if (q.length() < MIN_QUERY_LENGTH) return null;
+        int[] grams = grams(q);
+
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[grams.length];
+            for (int i = 0; i < grams.length; i++) {
+                PostingList list = postings.get(grams[i]);
+                if (list == null) return new long[0];
+                lists[i] = list;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            PostingList smallest = lists[0];
+            long[] out = new long[smallest.size];
+            int n = 0;
+            for (int i = smallest.size - 1; i >= 0; i--) {
+                long id = smallest.ids[i];
+                boolean all = true;
+                for (int j = 1; j < lists.length && all; j++) {
+                    all = lists[j].contains(id);
+                }
+                if (all) out[n++] = id;
+            }
+            return n == out.length ? out : Arrays.copyOf(out, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int documentCount() {
+        lock.readLock().lock();
+        try {
+            return docGrams.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // the same folding as the recheck's lower(): one code point at a time with the simple
+    // Unicode mapping, unlike String.toLowerCase, which applies context rules (final sigma)
+    // and can change the length (U+0130); either would lose bigrams the recheck matches
+    static String normalize(String s) {
+        if (s == null) return "";
+        StringBuilder sb = new StringBuilder(s.length());
+        s.codePoints().forEach(cp -> sb.appendCodePoint(Character.toLowerCase(cp)));
+        return sb.toString();
+    }
+
+    // distinct bigrams, each packed as two UTF-16 chars in one int
+    static int[] grams(String s) {
+        if (s.length() < 2) return new int[0];
+        int[] out = new int[s.length() - 1];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = (s.charAt(i) << 16) | s.charAt(i + 1);
+        }
+        Arrays.sort(out);
+        int n = 0;
+        for (int i = 0; i < out.length; i++) {
+            if (i == 0 || out[i] != out[i - 1]) out[n++] = out[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /** Ascending ids; posts are mostly appended since ids only grow. */
+    static final class PostingList {
+        long[] ids = new long[4];
+        int size;
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) return;
+            int at = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) return false;
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.event.BoardPostsImportedEvent;
+import com.example.demo.common.jdbc.ReplicaRouting;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Weak validators for board responses. View counts are left out on purpose, so a 304
+ * means "same posts, same text", not byte-identical JSON.
+ * <p>
+ * List tags come from a per-board version row in board_versions, bumped inside every
+ * post write transaction, so every node sees writes made on any other node. Reading the
+ * tag is one primary-key lookup on the primary; a 304 skips the list query itself.
+ * Detail tags come from the row's updated_at.
+ */
+@Component
+public class BoardETags {
+
+    private static final String BUMP_SQL = """
+            insert into board_versions (board_key, version, changed_at_millis) values (?, 1, ?)
+            on conflict (board_key) do update
+            set version = board_versions.version + 1,
+                changed_at_millis = greatest(board_versions.changed_at_millis, excluded.changed_at_millis)
+            """;
+    private static final String READ_SQL =
+            "select version, changed_at_millis from board_versions where board_key = ?";
+
+    private final JdbcTemplate jdbc;
+    private final ReplicaRouting replicaRouting;
+    // commit times of this node's own writes, which are later than the stored ones
+    private final Map<String, Long> committedAt = new ConcurrentHashMap<>();
+
+    public BoardETags(JdbcTemplate jdbc, ReplicaRouting replicaRouting) {
+        this.jdbc = jdbc;
+        this.replicaRouting = replicaRouting;
+    }
+
+    /**
+     * @param etag            weak list tag for the board
+     * @param changedAtMillis wall-clock time of the board's last change (0 if none); a
+     *                        replica must have caught up to it before it answers for the tag
+     */
+    public record ListVersion(String etag, long changedAtMillis) {}
+
+    public ListVersion listVersion(String boardKey) {
+        // from the primary: a lagging replica would hand out a tag older than the data
+        List<ListVersion> rows = replicaRouting.onPrimary(() -> jdbc.query(READ_SQL, (rs, i) -> {
+            long version = rs.getLong(1);
+            long changedAt = rs.getLong(2);
+            return new ListVersion(
+                    "W/\"" + version + "." + Long.toString(changedAt, 36) + "\"",
+                    Math.max(changedAt, committedAt.getOrDefault(boardKey, 0L)));
+        }, boardKey));
+        return rows.isEmpty() ? new ListVersion("W/\"0\"", 0) : rows.get(0);
+    }
+
+    public String detailETag(Long id, LocalDateTime updatedAt) {
+        return "W/\"" + id + "." + toEpochMillis(updatedAt) + "\"";
+    }
+
+    public static long toEpochMillis(LocalDateTime t) {
+        return t.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // in the write transaction: the version moves exactly when the posts do
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPostChanged(BoardPostChangedEvent e) {
+        jdbc.update(BUMP_SQL, e.boardKey(), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onPostsImported(BoardPostsImportedEvent e) {
+        jdbc.update(BUMP_SQL, e.boardKey(), System.currentTimeMillis());
+    }
+
+    // the stored time is taken just before commit; for this node's writes use the commit itself
+    @TransactionalEventListener
+    public void onPostChangedCommitted(BoardPostChangedEvent e) {
+        committedAt.put(e.boardKey(), System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener
+    public void onPostsImportedCommitted(BoardPostsImportedEvent e) {
+        committedAt.put(e.boardKey(), System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.dto.BoardPostExportRow;
+import com.example.demo.board.dto.BoardPostImportResult;
+import com.example.demo.board.dto.BoardPostImportRow;
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostsImportedEvent;
+import com.example.demo.board.policy.BoardPolicies;
+import com.example.demo.board.policy.BoardPolicies.Action;
+import com.example.demo.board.policy.BoardPolicies.Decision;
+import com.example.demo.board.policy.BoardPolicies.PostKind;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * NDJSON export/import of a whole board. Export scrolls board_posts with a forward-only
+ * cursor inside a read-only transaction, so memory stays flat however large the board.
+ * Import validates each line with the BoardPostWriteRequest rules and inserts valid rows
+ * through JDBC batches, one transaction per batch; invalid lines are skipped and reported,
+ * as are rows whose authorUserId does not exist.
+ * <p>
+ * Guest rows must carry a BCrypt {@code passwordHash}; plain passwords are rejected, since
+ * hashing each one would cost a full BCrypt round per row. Exports leave hashes out unless
+ * asked for, and an export with them is as sensitive as the password column itself.
+ */
+@Service
+public class BoardPostBulkService {
+
+    private static final String EXPORT_SQL = """
+            select id, title, author, content, created_at, updated_at, views, author_user_id,
+                   case when ? then password_hash end
+            from board_posts where board_key = ? order by id""";
+    private static final String INSERT_SQL = """
+            insert into board_posts (board_key, title, author, content, created_at, updated_at, views, author_user_id, password_hash)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+    private static final String KNOWN_USERS_SQL = "select id from app_users where id = any(?)";
+    // what BCryptPasswordEncoder.matches accepts; anything else could never be checked
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final JdbcTemplate jdbc;
+    private final JsonMapper jsonMapper;
+    private final Validator validator;
+    private final ViewCountBuffer viewCounts;
+    private final ApplicationEventPublisher events;
+    private final BoardPolicies policies;
+    private final TransactionTemplate tx;
+    private final TransactionTemplate readOnlyTx;
+    private final int batchSize;
+
+    public BoardPostBulkService(
+            JdbcTemplate jdbc,
+            JsonMapper jsonMapper,
+            Validator validator,
+            ViewCountBuffer viewCounts,
+            ApplicationEventPublisher events,
+            BoardPolicies policies,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.board.importBatchSize}") int batchSize
+    ) {
+        this.jdbc = jdbc;
+        this.jsonMapper = jsonMapper;
+        this.validator = validator;
+        this.viewCounts = viewCounts;
+        this.events = events;
+        this.policies = policies;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    public void validateBoardKey(String boardKey) {
+        policies.requireBoard(boardKey);
+    }
+
+    public void export(String boardKey, boolean includePasswordHashes, OutputStream out) {
+        // the PostgreSQL driver only streams with a fetch size inside a transaction
+        readOnlyTx.executeWithoutResult(status -> jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(EXPORT_SQL);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            ps.setBoolean(1, includePasswordHashes);
+            ps.setString(2, boardKey);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            long id = rs.getLong(1);
+            BoardPostExportRow row = new BoardPostExportRow(
+                    id, rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getTimestamp(5).toLocalDateTime(), rs.getTimestamp(6).toLocalDateTime(),
+                    rs.getLong(7) + viewCounts.pendingFor(id),
+                    rs.getObject(8, Long.class), rs.getString(9)
+            );
+            try {
+                out.write(jsonMapper.writeValueAsBytes(row));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    public BoardPostImportResult importRows(String boardKey, InputStream in) throws IOException {
+        validateBoardKey(boardKey);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        Rejections rejections = new Rejections();
+        long imported = 0;
+        long lineNo = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            try {
+                batch.add(new PendingRow(lineNo, toPost(boardKey, line)));
+            } catch (IllegalArgumentException | JacksonException e) {
+                rejections.add(lineNo, e.getMessage());
+                continue;
+            }
+            if (batch.size() >= batchSize) {
+                imported += insert(boardKey, withKnownAuthors(batch, rejections));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) imported += insert(boardKey, withKnownAuthors(batch, rejections));
+        return new BoardPostImportResult(imported, rejections.count, rejections.first);
+    }
+
+    private record PendingRow(long line, BoardPost post) {}
+
+    private static final class Rejections {
+        long count;
+        final List<BoardPostImportResult.Rejection> first = new ArrayList<>();
+
+        void add(long line, String message) {
+            count++;
+            if (first.size() < MAX_REPORTED_ERRORS) {
+                first.add(new BoardPostImportResult.Rejection(line, message));
+            }
+        }
+    }
+
+    // author_user_id has no foreign key, so check the batch's authors in one query
+    private List<BoardPost> withKnownAuthors(List<PendingRow> batch, Rejections rejections) {
+        Long[] authorIds = batch.stream()
+                .map(r -> r.post().getAuthorUserId())
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(Long[]::new);
+        Set<Long> known = authorIds.length == 0 ? Set.of() : new HashSet<>(jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(KNOWN_USERS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", authorIds));
+            return ps;
+        }, (rs, i) -> rs.getLong(1)));
+
+        List<BoardPost> posts = new ArrayList<>(batch.size());
+        for (PendingRow r : batch) {
+            Long authorUserId = r.post().getAuthorUserId();
+            if (authorUserId != null && !known.contains(authorUserId)) {
+                rejections.add(r.line(), "authorUserId " + authorUserId + " does not exist");
+            } else {
+                posts.add(r.post());
+            }
+        }
+        return posts;
+    }
+
+    private BoardPost toPost(String boardKey, String line) {
+        BoardPostImportRow row = jsonMapper.readValue(line, BoardPostImportRow.class);
+        Set<ConstraintViolation<BoardPostImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+
+        if (row.getPassword() != null) {
+            throw new IllegalArgumentException("password is not accepted on import; supply passwordHash");
+        }
+
+        // same rules as BoardPostService.create, with the author given instead of logged in
+        boolean member = row.getAuthorUserId() != null;
+        Decision decision = policies.decide(boardKey, Action.CREATE, member, PostKind.NONE);
+        if (decision == Decision.LOGIN_REQUIRED) {
+            throw new IllegalArgumentException("authorUserId is required on " + boardKey);
+        }
+        String passwordHash = null;
+        if (decision == Decision.NEW_PASSWORD) {
+            if (row.getPasswordHash() == null) {
+                throw new IllegalArgumentException("passwordHash is required for guest posts");
+            }
+            if (!BCRYPT_HASH.matcher(row.getPasswordHash()).matches()) {
+                throw new IllegalArgumentException("passwordHash must be a BCrypt hash");
+            }
+            passwordHash = row.getPasswordHash();
+        }
+
+        BoardPost post = new BoardPost(
+                boardKey,
+                row.getTitle().trim(),
+                row.getAuthor() == null ? null : row.getAuthor().trim(),
+                row.getContent().trim()
+        );
+        LocalDateTime createdAt = row.getCreatedAt() != null ? row.getCreatedAt() : LocalDateTime.now();
+        post.setCreatedAt(createdAt);
+        post.setUpdatedAt(row.getUpdatedAt() != null ? row.getUpdatedAt() : createdAt);
+        post.setViews(row.getViews() != null ? row.getViews() : 0L);
+        post.setAuthorUserId(row.getAuthorUserId());
+        post.setPasswordHash(passwordHash);
+        return post;
+    }
+
+    private int insert(String boardKey, List<BoardPost> posts) {
+        if (posts.isEmpty()) return 0;
+        return tx.execute(status -> {
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbc.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"id"}), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    BoardPost p = posts.get(i);
+                    ps.setString(1, boardKey);
+                    ps.setString(2, p.getTitle());
+                    ps.setString(3, p.getAuthor());
+                    ps.setString(4, p.getContent());
+                    ps.setTimestamp(5, Timestamp.valueOf(p.getCreatedAt()));
+                    ps.setTimestamp(6, Timestamp.valueOf(p.getUpdatedAt()));
+                    ps.setLong(7, p.getViews());
+                    if (p.getAuthorUserId() != null) ps.setLong(8, p.getAuthorUserId());
+                    else ps.setNull(8, Types.BIGINT);
+                    ps.setString(9, p.getPasswordHash());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return posts.size();
+                }
+            }, keys);
+
+            List<Map<String, Object>> ids = keys.getKeyList();
+            for (int i = 0; i < posts.size(); i++) {
+                posts.get(i).setId(((Number) ids.get(i).get("id")).longValue());
+            }
+            events.publishEvent(new BoardPostsImportedEvent(boardKey, posts));
+            return posts.size();
+        });
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.event.BoardPostsImportedEvent;
+import com.example.demo.board.repository.BoardPostRepository;
+import com.example.demo.common.jdbc.ReplicaRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Post totals for list responses. Unfiltered totals are kept per board and adjusted
+ * on every committed create/delete, then reconciled against count(*) periodically.
+ * Search totals are cached per (board, lower-cased query) for a short TTL.
+ */
+@Component
+public class BoardPostCountCache {
+
+    private final Map<String, AtomicLong> boardCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lastDrift = new ConcurrentHashMap<>();
+    private final Cache<SearchKey, Long> searchCounts;
+
+    private final BoardPostRepository repository;
+    private final ReplicaRouting replicaRouting;
+    private final MeterRegistry meters;
+    private final Counter driftTotal;
+
+    public BoardPostCountCache(
+            BoardPostRepository repository,
+            ReplicaRouting replicaRouting,
+            MeterRegistry meters,
+            @Value("${app.board.searchCountTtlSeconds}") long searchCountTtlSeconds
+    ) {
+        this.repository = repository;
+        this.replicaRouting = replicaRouting;
+        this.meters = meters;
+        this.searchCounts = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(searchCountTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, searchCounts, "boardSearchCounts");
+        this.driftTotal = Counter.builder("board.posts.count.drift.total")
+                .description("Sum of absolute differences found when reconciling cached post counts")
+                .register(meters);
+    }
+
+    private record SearchKey(String boardKey, String q) {}
+
+    public long boardTotal(String boardKey) {
+        return boardCounts.computeIfAbsent(boardKey, k -> new AtomicLong(repository.countByBoardKey(k))).get();
+    }
+
+    public long searchTotal(String boardKey, String q, Supplier<Long> loader) {
+        return searchCounts.get(new SearchKey(boardKey, q.toLowerCase(Locale.ROOT)), k -> loader.get());
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(BoardPostChangedEvent e) {
+        AtomicLong count = boardCounts.get(e.boardKey());
+        if (count != null) {
+            if (e.type() == BoardPostChangedEvent.Type.CREATED) count.incrementAndGet();
+            if (e.type() == BoardPostChangedEvent.Type.DELETED) count.decrementAndGet();
+        }
+        searchCounts.asMap().keySet().removeIf(k -> k.boardKey().equals(e.boardKey()));
+    }
+
+    @TransactionalEventListener
+    public void onPostsImported(BoardPostsImportedEvent e) {
+        AtomicLong count = boardCounts.get(e.boardKey());
+        if (count != null) count.addAndGet(e.posts().size());
+        searchCounts.asMap().keySet().removeIf(k -> k.boardKey().equals(e.boardKey()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.board.countReconcileIntervalMs}")
+    public void reconcile() {
+        boardCounts.forEach((boardKey, count) -> {
+            long before = count.get();
+            // a lagging replica would undo increments that already happened on the primary
+            long actual = replicaRouting.onPrimary(() -> repository.countByBoardKey(boardKey));
+            // skip this round if a write landed while counting; the next run will catch up
+            if (!count.compareAndSet(before, actual)) return;
+
+            long drift = before - actual;
+            lastDrift.computeIfAbsent(boardKey,
+                    k -> meters.gauge("board.posts.count.drift", Tags.of("board", k), new AtomicLong()))
+                    .set(drift);
+            driftTotal.increment(Math.abs(drift));
+        });
+    }
+}
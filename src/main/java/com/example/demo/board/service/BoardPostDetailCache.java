@@ -0,0 +1,98 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.dto.BoardPostDetailResponse;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of detail responses, bounded by an estimated byte budget since
+ * content can be up to 20,000 chars. Keyed by post id (a post never changes board).
+ * <p>
+ * View flushes never touch an entry: it keeps the view total as of its load (the row
+ * plus what was still pending here) and counts this node's views since then on top, so
+ * the total stays right whatever ViewCountBuffer writes in between. Views counted on
+ * other nodes show up when the entry is next loaded.
+ */
+@Component
+public class BoardPostDetailCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private final Cache<Long, Entry> cache;
+    private final ViewCountBuffer viewCounts;
+
+    public BoardPostDetailCache(
+            ViewCountBuffer viewCounts,
+            MeterRegistry meters,
+            @Value("${app.board.detailCacheMaxBytes}") long maxBytes,
+            @Value("${app.board.detailCacheTtlSeconds}") long ttlSeconds
+    ) {
+        this.viewCounts = viewCounts;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Entry e) -> estimateBytes(e.body()))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "boardPostDetails");
+    }
+
+    // body.views is the total at load time
+    private record Entry(BoardPostDetailResponse body, LongAdder viewsSinceLoad) {}
+
+    /** The post with its current view total; {@code loader} reads the row. */
+    public BoardPostDetailResponse get(Long id, Supplier<BoardPostDetailResponse> loader) {
+        Entry e = cache.getIfPresent(id);
+        if (e == null) {
+            long generation = viewCounts.flushGeneration();
+            BoardPostDetailResponse row = loader.get();
+            e = new Entry(row.withViews(row.getViews() + viewCounts.pendingFor(id)), new LongAdder());
+            // a flush between the row read and pendingFor would count its views twice or not
+            // at all; serve that total once, but do not keep it
+            if (generation % 2 == 0 && generation == viewCounts.flushGeneration()) {
+                Entry raced = cache.asMap().putIfAbsent(id, e);
+                if (raced != null) e = raced;
+            }
+        }
+        return e.body().withViews(e.body().getViews() + e.viewsSinceLoad().sum());
+    }
+
+    public BoardPostDetailResponse getIfPresent(Long id) {
+        Entry e = cache.getIfPresent(id);
+        return e == null ? null : e.body();
+    }
+
+    // called for every view this node counts, including 304s
+    public void recordView(Long id) {
+        Entry e = cache.getIfPresent(id);
+        if (e != null) e.viewsSinceLoad().increment();
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(BoardPostChangedEvent e) {
+        invalidate(e.postId());
+    }
+
+    private static int estimateBytes(BoardPostDetailResponse d) {
+        long chars = length(d.getBoardKey()) + length(d.getTitle()) + length(d.getAuthor()) + length(d.getContent());
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD_BYTES + chars * 2);
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.dto.BoardPostListResponse;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.repository.BoardPostListView;
+import com.example.demo.board.repository.BoardPostRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Time-decayed view ranking per board. Uses forward decay: a view at time t adds
+ * {@code exp(λ·(t - landmark))}, so old scores never need touching and a score divided by
+ * the current weight is "views, each halved every half-life". The landmark is moved up
+ * now and then to keep the weights finite. The top entries are hydrated into list items
+ * on a schedule and served from memory; scores are checkpointed to a file.
+ */
+@Component
+public class BoardPostPopularity {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardPostPopularity.class);
+
+    private static final int CHECKPOINT_VERSION = 1;
+    // below this many decayed views a post is forgotten
+    private static final double MIN_SCORE = 0.05;
+    // rebase once weights reach e^20
+    private static final double MAX_EXPONENT = 20;
+
+    // views and checkpoint copies take the read lock; rebasing and pruning take the write lock
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, DoubleAdder>> scores = new ConcurrentHashMap<>();
+    private final Map<String, List<BoardPostListResponse.Item>> snapshots = new ConcurrentHashMap<>();
+    private volatile long landmarkMillis = System.currentTimeMillis();
+
+    private final BoardPostRepository repository;
+    private final ViewCountBuffer viewCounts;
+    private final double lambdaPerMs;
+    private final int size;
+    private final Path checkpoint;
+
+    public BoardPostPopularity(
+            BoardPostRepository repository,
+            ViewCountBuffer viewCounts,
+            @Value("${app.board.popularHalfLifeMinutes}") long halfLifeMinutes,
+            @Value("${app.board.popularSize}") int size,
+            @Value("${app.board.popularCheckpointPath}") String checkpointPath
+    ) {
+        this.repository = repository;
+        this.viewCounts = viewCounts;
+        this.lambdaPerMs = Math.log(2) / (halfLifeMinutes * 60_000.0);
+        this.size = size;
+        this.checkpoint = checkpointPath.isBlank() ? null : Path.of(checkpointPath);
+    }
+
+    public void recordView(String boardKey, Long postId) {
+        lock.readLock().lock();
+        try {
+            double weight = Math.exp(lambdaPerMs * (System.currentTimeMillis() - landmarkMillis));
+            scores.computeIfAbsent(boardKey, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(postId, k -> new DoubleAdder())
+                    .add(weight);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Most popular posts first, as of the last refresh. */
+    public List<BoardPostListResponse.Item> top(String boardKey, int limit) {
+        List<BoardPostListResponse.Item> items = snapshots.getOrDefault(boardKey, List.of());
+        return items.size() > limit ? items.subList(0, limit) : items;
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(BoardPostChangedEvent e) {
+        if (e.type() != BoardPostChangedEvent.Type.DELETED) return;
+        Map<Long, DoubleAdder> board = scores.get(e.boardKey());
+        if (board != null) board.remove(e.postId());
+        snapshots.computeIfPresent(e.boardKey(), (k, items) ->
+                items.stream().filter(i -> !i.getId().equals(e.postId())).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.board.popularRefreshMs}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        compact(now);
+        scores.forEach((boardKey, board) -> snapshots.put(boardKey, hydrate(topIds(board))));
+    }
+
+    private void compact(long now) {
+        lock.writeLock().lock();
+        try {
+            double exponent = lambdaPerMs * (now - landmarkMillis);
+            double factor = exponent > MAX_EXPONENT ? Math.exp(-exponent) : 1.0;
+            double floor = MIN_SCORE * Math.exp(exponent) * factor;
+            for (Map<Long, DoubleAdder> board : scores.values()) {
+                board.values().removeIf(adder -> {
+                    double v = adder.sumThenReset() * factor;
+                    adder.add(v);
+                    return v < floor;
+                });
+            }
+            if (factor != 1.0) landmarkMillis = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> topIds(Map<Long, DoubleAdder> board) {
+        record Scored(long id, double score) {}
+        PriorityQueue<Scored> heap = new PriorityQueue<>(size + 1, Comparator.comparingDouble(Scored::score));
+        board.forEach((id, adder) -> {
+            double s = adder.sum();
+            if (heap.size() < size) {
+                heap.add(new Scored(id, s));
+            } else if (s > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Scored(id, s));
+            }
+        });
+        List<Long> ids = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) ids.add(heap.poll().id());
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    private List<BoardPostListResponse.Item> hydrate(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, BoardPostListView> byId = repository.findListByIdIn(ids).stream()
+                .collect(Collectors.toMap(BoardPostListView::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(p -> p != null)
+                .map(p -> new BoardPostListResponse.Item(
+                        p.getId(), p.getTitle(), p.getAuthor(), p.getCreatedAt(), p.getUpdatedAt(),
+                        p.getViews() + viewCounts.pendingFor(p.getId())))
+                .toList();
+    }
+
+    private record BoardScores(String boardKey, long[] ids, double[] scores) {}
+
+    @Scheduled(fixedDelayString = "${app.board.popularCheckpointMs}", initialDelayString = "${app.board.popularCheckpointMs}")
+    public void checkpoint() {
+        if (checkpoint == null) return;
+
+        // the read lock keeps compact() from rescaling scores and moving the landmark
+        // mid-copy; views still go through, and the file is written after unlocking
+        long landmark;
+        List<BoardScores> copy = new ArrayList<>(scores.size());
+        lock.readLock().lock();
+        try {
+            landmark = landmarkMillis;
+            for (Map.Entry<String, Map<Long, DoubleAdder>> board : scores.entrySet()) {
+                List<Map.Entry<Long, DoubleAdder>> entries = List.copyOf(board.getValue().entrySet());
+                long[] ids = new long[entries.size()];
+                double[] values = new double[entries.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = entries.get(i).getKey();
+                    values[i] = entries.get(i).getValue().sum();
+                }
+                copy.add(new BoardScores(board.getKey(), ids, values));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        try {
+            Path dir = checkpoint.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "popular", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(CHECKPOINT_VERSION);
+                out.writeLong(landmark);
+                out.writeInt(copy.size());
+                for (BoardScores board : copy) {
+                    out.writeUTF(board.boardKey());
+                    out.writeInt(board.ids().length);
+                    for (int i = 0; i < board.ids().length; i++) {
+                        out.writeLong(board.ids()[i]);
+                        out.writeDouble(board.scores()[i]);
+                    }
+                }
+            } catch (IOException e) {
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("could not write popularity checkpoint {}", checkpoint, e);
+        }
+    }
+
+    @PostConstruct
+    void restore() {
+        if (checkpoint == null || !Files.exists(checkpoint)) return;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpoint)))) {
+            if (in.readInt() != CHECKPOINT_VERSION) return;
+            landmarkMillis = in.readLong();
+            int boards = in.readInt();
+            for (int b = 0; b < boards; b++) {
+                Map<Long, DoubleAdder> board = scores.computeIfAbsent(in.readUTF(), k -> new ConcurrentHashMap<>());
+                int n = in.readInt();
+                for (int i = 0; i < n; i++) {
+                    DoubleAdder adder = new DoubleAdder();
+                    long id = in.readLong();
+                    adder.add(in.readDouble());
+                    board.put(id, adder);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("ignoring unreadable popularity checkpoint {}", checkpoint, e);
+            scores.clear();
+            landmarkMillis = System.currentTimeMillis();
+        }
+    }
+
+    @PreDestroy
+    void checkpointOnShutdown() {
+        checkpoint();
+    }
+}
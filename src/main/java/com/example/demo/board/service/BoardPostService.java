@@ -3,21 +3,36 @@ package com.example.demo.board.service;
 import com.example.demo.auth.AuthContext;
 import com.example.demo.board.dto.*;
 import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.repository.BoardPostDetailView;
+import com.example.demo.board.repository.BoardPostListView;
 import com.example.demo.board.repository.BoardPostRepository;
+import com.example.demo.board.search.BoardSearchIndex;
+import com.example.demo.common.jdbc.ReplicaRouting;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import com.example.demo.board.BoardKeys;
+import com.example.demo.board.policy.BoardPolicies;
+import com.example.demo.board.policy.BoardPolicies.Action;
+import com.example.demo.board.policy.BoardPolicies.Decision;
+import com.example.demo.board.policy.BoardPolicies.PostKind;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Service
@@ -26,59 +41,187 @@ public class BoardPostService {
 
     private final BoardPostRepository repository;
     private final PasswordEncoder passwordEncoder;
+    private final ViewCountBuffer viewCounts;
+    private final BoardSearchIndex searchIndex;
+    private final BoardPostCountCache counts;
+    private final BoardPostDetailCache detailCache;
+    private final BoardPostPopularity popularity;
+    private final BoardPolicies policies;
+    private final ReplicaRouting replicaRouting;
+    private final ApplicationEventPublisher events;
+    private final TransactionTemplate tx;
 
     private void validateBoardKey(String boardKey) {
-        if (!List.of("board1", "board2").contains(boardKey)) {
-            throw new EntityNotFoundException("board not found");
+        policies.requireBoard(boardKey);
+    }
+
+    // enforced here as well as in BoardAccess, so access never hinges on URL parsing alone
+    public void checkList(String boardKey) {
+        checkAccess(boardKey, Action.LIST);
+    }
+
+    private void checkRead(String boardKey) {
+        checkAccess(boardKey, Action.READ);
+    }
+
+    private void checkAccess(String boardKey, Action action) {
+        boolean loggedIn = AuthContext.userIdOrNull() != null;
+        if (policies.decide(boardKey, action, loggedIn, PostKind.NONE) == Decision.LOGIN_REQUIRED) {
+            throw new AccessDeniedException("Login required.");
         }
     }
 
     @Transactional(readOnly = true)
     public BoardPostListResponse list(String boardKey, int page, int size, String q) {
-        validateBoardKey(boardKey);
+        checkList(boardKey);
         int safePage = Math.max(page, 1);
-        int safeSize = Math.min(Math.max(size, 1), 50); // max 50
+        int safeSize = safeSize(size);
         Pageable pageable = PageRequest.of(safePage - 1, safeSize, Sort.by(Sort.Direction.DESC, "id"));
+        String safeQ = safeQuery(q);
+
+        if (safeQ != null && !safeQ.isEmpty()) {
+            BoardSearchIndex.SearchHits hits = searchIndex.search(
+                    boardKey, safeQ, null, (safePage - 1) * safeSize, safeSize, false);
+            if (hits != null) return fromSearchHits(hits, total(boardKey, safeQ));
+        }
+
+        List<BoardPostListView> rows = repository.findPage(boardKey, safeQ, pageable);
+        long total = total(boardKey, safeQ);
+
+        List<BoardPostListResponse.Item> items = toItems(rows);
+        boolean hasNext = (long) safePage * safeSize < total && !items.isEmpty();
+        Long nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+
+        return new BoardPostListResponse(items, total, nextCursor);
+    }
+
+    // keyset variant: seeks with id < after instead of OFFSET, so every page costs the same
+    @Transactional(readOnly = true)
+    public BoardPostListResponse listAfter(String boardKey, long after, int size, String q, boolean withTotal) {
+        checkList(boardKey);
+        int safeSize = safeSize(size);
+        String safeQ = safeQuery(q);
+
+        if (safeQ != null && !safeQ.isEmpty()) {
+            BoardSearchIndex.SearchHits hits = searchIndex.search(boardKey, safeQ, after, 0, safeSize, false);
+            if (hits != null) return fromSearchHits(hits, withTotal ? total(boardKey, safeQ) : null);
+        }
+
+        // one extra row tells us whether there is a next page without a count(*)
+        List<BoardPostListView> rows = repository.findAfter(boardKey, safeQ, after, Limit.of(safeSize + 1));
+        boolean hasNext = rows.size() > safeSize;
+        if (hasNext) rows = rows.subList(0, safeSize);
+
+        List<BoardPostListResponse.Item> items = toItems(rows);
+        Long nextCursor = hasNext ? items.get(items.size() - 1).getId() : null;
+        Long total = withTotal ? total(boardKey, safeQ) : null;
+
+        return new BoardPostListResponse(items, total, nextCursor);
+    }
+
+    private long total(String boardKey, String safeQ) {
+        if (safeQ == null || safeQ.isEmpty()) return counts.boardTotal(boardKey);
+        return counts.searchTotal(boardKey, safeQ, () -> {
+            Long indexed = searchIndex.countMatches(boardKey, safeQ);
+            return indexed != null ? indexed : repository.countMatching(boardKey, safeQ);
+        });
+    }
+
+    private BoardPostListResponse fromSearchHits(BoardSearchIndex.SearchHits hits, Long total) {
+        if (hits.ids().isEmpty()) return new BoardPostListResponse(List.of(), total, null);
+        Map<Long, BoardPostListView> byId = repository.findListByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(BoardPostListView::getId, Function.identity()));
+        List<BoardPostListView> ordered = hits.ids().stream().map(byId::get).filter(p -> p != null).toList();
+
+        List<BoardPostListResponse.Item> items = toItems(ordered);
+        Long nextCursor = hits.hasNext() && !items.isEmpty() ? items.get(items.size() - 1).getId() : null;
+        return new BoardPostListResponse(items, total, nextCursor);
+    }
+
+    private int safeSize(int size) {
+        return Math.min(Math.max(size, 1), 50); // max 50
+    }
+
+    private String safeQuery(String q) {
         String safeQ = (q == null) ? null : q.trim();
         if (safeQ != null && safeQ.length() > 100) {
             throw new IllegalArgumentException("q is too long");
         }
-        Page<BoardPost> result = repository.findPage(boardKey, safeQ, pageable);
+        return safeQ;
+    }
 
-        List<BoardPostListResponse.Item> items = result.getContent().stream()
+    private List<BoardPostListResponse.Item> toItems(List<BoardPostListView> posts) {
+        return posts.stream()
                 .map(p -> new BoardPostListResponse.Item(
-                        p.getId(), p.getTitle(), p.getAuthor(), p.getCreatedAt(), p.getUpdatedAt(), p.getViews()
+                        p.getId(), p.getTitle(), p.getAuthor(), p.getCreatedAt(), p.getUpdatedAt(),
+                        p.getViews() + viewCounts.pendingFor(p.getId())
                 ))
                 .toList();
-
-        return new BoardPostListResponse(items, result.getTotalElements());
     }
 
-    @Transactional
+    // no transaction here: cache hits never touch the database, misses use the repository's own
     public BoardPostDetailResponse detail(String boardKey, Long id) {
-        validateBoardKey(boardKey);
-        int updated = repository.incrementViews(boardKey, id);
+        checkRead(boardKey);
+        if (!viewCounts.isBuffered()) return detailDirect(boardKey, id);
 
-        if (updated == 0) throw new EntityNotFoundException("post not found");
+        // the cached copy is shared by every reader, so it is loaded from the primary
+        BoardPostDetailResponse cached = detailCache.get(id, () -> {
+            BoardPost p = replicaRouting.onPrimary(() -> repository.findByIdAndBoardKey(id, boardKey))
+                    .orElseThrow(() -> new EntityNotFoundException("post not found"));
+            return new BoardPostDetailResponse(
+                    p.getId(), p.getBoardKey(), p.getTitle(), p.getAuthor(), p.getContent(),
+                    p.getCreatedAt(), p.getUpdatedAt(), p.getViews(), p.getAuthorUserId()
+            );
+        });
+        if (!cached.getBoardKey().equals(boardKey)) throw new EntityNotFoundException("post not found");
 
-        BoardPost p = repository.findByIdAndBoardKey(id, boardKey)
-                .orElseThrow(() -> new EntityNotFoundException("post not found"));
+        // views are written behind by ViewCountBuffer, so count this read in memory only;
+        // the total above was taken just before it
+        countView(boardKey, id);
+        return cached.withViews(cached.getViews() + 1);
+    }
 
+    // direct mode: one UPDATE ... RETURNING counts the view and yields the detail columns
+    private BoardPostDetailResponse detailDirect(String boardKey, Long id) {
+        BoardPostDetailView v = repository.incrementViewsReturning(boardKey, id)
+                .orElseThrow(() -> new EntityNotFoundException("post not found"));
+        popularity.recordView(boardKey, id);
         return new BoardPostDetailResponse(
-                p.getId(), p.getBoardKey(), p.getTitle(), p.getAuthor(), p.getContent(),
-                p.getCreatedAt(), p.getUpdatedAt(), p.getViews(), p.getAuthorUserId()
+                v.getId(), v.getBoardKey(), v.getTitle(), v.getAuthor(), v.getContent(),
+                v.getCreatedAt(), v.getUpdatedAt(), v.getViews(), v.getAuthorUserId()
         );
     }
 
-    @Transactional
-    public Long create(String boardKey, BoardPostWriteRequest req) {
-        validateBoardKey(boardKey);
-        Long userId = AuthContext.userIdOrNull();
+    // cheap validator lookup for conditional GETs: cache first, then a single-column select
+    public LocalDateTime detailUpdatedAt(String boardKey, Long id) {
+        checkRead(boardKey);
+        BoardPostDetailResponse cached = detailCache.getIfPresent(id);
+        if (cached != null && cached.getBoardKey().equals(boardKey)) return cached.getUpdatedAt();
+        return repository.findUpdatedAt(id, boardKey)
+                .orElseThrow(() -> new EntityNotFoundException("post not found"));
+    }
 
-        // ✅ board2 must be logged in
-        if ("board2".equals(boardKey)) {
-            if (userId == null) throw new AccessDeniedException("Login required.");
+    public void countView(String boardKey, Long id) {
+        if (viewCounts.isBuffered()) {
+            viewCounts.increment(id);
+            detailCache.recordView(id);
+        } else {
+            repository.incrementViews(boardKey, id);
         }
+        popularity.recordView(boardKey, id);
+    }
+
+    public BoardPostListResponse popular(String boardKey, int size) {
+        checkList(boardKey);
+        return new BoardPostListResponse(popularity.top(boardKey, safeSize(size)), null, null);
+    }
+
+    // BCrypt runs before the transaction: a hash queued behind the bounded hashing pool
+    // must not hold a pooled connection meanwhile
+    public Long create(String boardKey, BoardPostWriteRequest req) {
+        Long userId = AuthContext.userIdOrNull();
+        Decision decision = policies.decide(boardKey, Action.CREATE, userId != null, PostKind.NONE);
+        if (decision == Decision.LOGIN_REQUIRED) throw new AccessDeniedException("Login required.");
 
         String title = req.getTitle().trim();
         String author = req.getAuthor() == null ? null : req.getAuthor().trim();
@@ -86,85 +229,87 @@ public class BoardPostService {
 
         BoardPost post = new BoardPost(boardKey, title, author, content);
 
-        // ✅ if logged in, always save authorUserId (for board2 and also board1 member posts)
-        if (userId != null) {
+        // ✅ if logged in, always save authorUserId; guests (where the board allows them) set a password
+        if (decision == Decision.NEW_PASSWORD) {
+            if (req.getPassword() == null || req.getPassword().length() < 6) {
+                throw new IllegalArgumentException("Password must be at least 6 characters.");
+            }
+            post.setPasswordHash(passwordEncoder.encode(req.getPassword()));
+            post.setAuthorUserId(null);
+        } else {
             post.setAuthorUserId(userId);
             post.setPasswordHash(null);
-        } else {
-            // guest allowed only for board1
-            if (BoardKeys.PRAISE.equals(boardKey)) {
-                if (req.getPassword() == null || req.getPassword().length() < 6) {
-                    throw new IllegalArgumentException("Password must be at least 6 characters.");
-                }
-                post.setPasswordHash(passwordEncoder.encode(req.getPassword()));
-                post.setAuthorUserId(null);
-            } else {
-                throw new AccessDeniedException("Login required.");
-            }
         }
 
-        return repository.save(post).getId();
+        return tx.execute(status -> {
+            BoardPost saved = repository.save(post);
+            events.publishEvent(new BoardPostChangedEvent(BoardPostChangedEvent.Type.CREATED, saved));
+            return saved.getId();
+        });
     }
 
-    @Transactional
     public void update(String boardKey, Long id, BoardPostWriteRequest req) {
         validateBoardKey(boardKey);
-        BoardPost p = repository.findByIdAndBoardKey(id, boardKey)
-                .orElseThrow(() -> new EntityNotFoundException("post not found"));
-
-        if ("board2".equals(boardKey)) {
-            Long me = AuthContext.userIdOrNull();
-            if (me == null) throw new AccessDeniedException("Login required.");
-            if (!me.equals(p.getAuthorUserId())) throw new AccessDeniedException("Not the owner.");
-        }
-
-        if (BoardKeys.PRAISE.equals(boardKey)) {
-            if (p.getAuthorUserId() != null) {
-                // ✅ member post → JWT + owner check
-                Long me = AuthContext.userIdOrNull();
-                if (me == null) throw new AccessDeniedException("Login required.");
-                if (!me.equals(p.getAuthorUserId())) throw new AccessDeniedException("Not the owner.");
-            } else {
-                // ✅ guest post → password check
-                if (req.getPassword() == null) throw new IllegalArgumentException("Password is required.");
-                if (p.getPasswordHash() == null || !passwordEncoder.matches(req.getPassword(), p.getPasswordHash())) {
-                    throw new org.springframework.security.access.AccessDeniedException("Wrong password.");
-                }
-            }
-        }
+        BoardPost checked = checkWrite(Action.UPDATE, boardKey, id, req);
 
         String title = req.getTitle().trim();
         String author = req.getAuthor() == null ? null : req.getAuthor().trim();
         String content = req.getContent().trim();
 
-        p.update(title, author, content);
+        tx.executeWithoutResult(status -> {
+            BoardPost p = findChecked(boardKey, id, checked);
+            p.update(title, author, content);
+            events.publishEvent(new BoardPostChangedEvent(BoardPostChangedEvent.Type.UPDATED, p));
+        });
     }
 
-    @Transactional
     public void delete(String boardKey, Long id, BoardPostWriteRequest req) {
         validateBoardKey(boardKey);
+        BoardPost checked = checkWrite(Action.DELETE, boardKey, id, req);
+
+        tx.executeWithoutResult(status -> {
+            BoardPost p = findChecked(boardKey, id, checked);
+            repository.delete(p);
+            events.publishEvent(new BoardPostChangedEvent(BoardPostChangedEvent.Type.DELETED, p));
+        });
+    }
+
+    // the write checks run on a read outside the transaction; reload and make sure the
+    // owner and password they were made against are still the post's
+    private BoardPost findChecked(String boardKey, Long id, BoardPost checked) {
         BoardPost p = repository.findByIdAndBoardKey(id, boardKey)
                 .orElseThrow(() -> new EntityNotFoundException("post not found"));
-
-        if ("board2".equals(boardKey)) {
-            Long me = AuthContext.userIdOrNull();
-            if (me == null) throw new AccessDeniedException("Login required.");
-            if (!me.equals(p.getAuthorUserId())) throw new AccessDeniedException("Not the owner.");
+        if (!Objects.equals(p.getAuthorUserId(), checked.getAuthorUserId())
+                || !Objects.equals(p.getPasswordHash(), checked.getPasswordHash())) {
+            throw new AccessDeniedException("Post changed, please retry.");
         }
+        return p;
+    }
 
-        if (BoardKeys.PRAISE.equals(boardKey)) {
-            if (p.getAuthorUserId() != null) {
-                Long me = AuthContext.userIdOrNull();
-                if (me == null) throw new AccessDeniedException("Login required.");
+    private BoardPost checkWrite(Action action, String boardKey, Long id, BoardPostWriteRequest req) {
+        // from the primary: a post created a moment ago may not be on the replica yet
+        BoardPost p = replicaRouting.onPrimary(() -> repository.findByIdAndBoardKey(id, boardKey))
+                .orElseThrow(() -> new EntityNotFoundException("post not found"));
+        checkWrite(action, p, req);
+        return p;
+    }
+
+    // member post → JWT + owner check, guest post → password check, as the board's policy says
+    private void checkWrite(Action action, BoardPost p, BoardPostWriteRequest req) {
+        Long me = AuthContext.userIdOrNull();
+        PostKind kind = p.getAuthorUserId() != null ? PostKind.MEMBER : PostKind.GUEST;
+        switch (policies.decide(p.getBoardKey(), action, me != null, kind)) {
+            case ALLOW, NEW_PASSWORD -> {}
+            case LOGIN_REQUIRED -> throw new AccessDeniedException("Login required.");
+            case OWNER -> {
                 if (!me.equals(p.getAuthorUserId())) throw new AccessDeniedException("Not the owner.");
-            } else {
+            }
+            case POST_PASSWORD -> {
                 if (req == null || req.getPassword() == null) throw new IllegalArgumentException("Password is required.");
                 if (p.getPasswordHash() == null || !passwordEncoder.matches(req.getPassword(), p.getPasswordHash())) {
-                    throw new org.springframework.security.access.AccessDeniedException("Wrong password.");
+                    throw new AccessDeniedException("Wrong password.");
                 }
             }
         }
-
-        repository.delete(p);
     }
 }
@@ -0,0 +1,232 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.dto.BoardPostListResponse;
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.event.BoardPostsImportedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fan-out of committed post changes to SSE subscribers, per board. Each change is
+ * serialized once and queued to every subscriber; a small sender pool drains the queues,
+ * so idle subscribers hold no thread. A subscriber whose queue fills up is dropped and
+ * resumes through Last-Event-ID ({@code epoch:seq}) from the per-board replay buffer;
+ * when the id is from another process or older than the buffer it gets a "reset" event
+ * and should refetch the list.
+ */
+@Component
+public class BoardPostStreamHub {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, Board> boards = new ConcurrentHashMap<>();
+    private final JsonMapper jsonMapper;
+    private final ExecutorService senders;
+    private final long timeoutMs;
+    private final int replaySize;
+    private final int maxPending;
+
+    public BoardPostStreamHub(
+            JsonMapper jsonMapper,
+            MeterRegistry meters,
+            @Value("${app.board.streamTimeoutMs}") long timeoutMs,
+            @Value("${app.board.streamReplaySize}") int replaySize,
+            @Value("${app.board.streamMaxPending}") int maxPending,
+            @Value("${app.board.streamSenderThreads}") int senderThreads
+    ) {
+        this.jsonMapper = jsonMapper;
+        this.timeoutMs = timeoutMs;
+        this.replaySize = replaySize;
+        this.maxPending = maxPending;
+        AtomicInteger n = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread t = new Thread(r, "board-stream-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        meters.gauge("board.stream.subscribers", boards,
+                m -> m.values().stream().mapToInt(b -> b.subscribers.size()).sum());
+    }
+
+    private record Message(long seq, String name, String data) {}
+
+    private final class Board {
+        final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        final Queue<Message> replay = new ArrayDeque<>();
+        long seq;
+
+        synchronized Message append(String name, String data) {
+            Message m = new Message(++seq, name, data);
+            replay.add(m);
+            if (replay.size() > replaySize) replay.poll();
+            return m;
+        }
+
+        // null when the client has missed more than the buffer still holds
+        synchronized List<Message> since(long lastSeq) {
+            Message oldest = replay.peek();
+            if (lastSeq > seq || (oldest != null && oldest.seq() > lastSeq + 1) || (oldest == null && lastSeq < seq)) {
+                return null;
+            }
+            List<Message> out = new ArrayList<>();
+            for (Message m : replay) {
+                if (m.seq() > lastSeq) out.add(m);
+            }
+            return out;
+        }
+    }
+
+    private final class Subscriber {
+        final Board board;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(maxPending);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(Board board, SseEmitter emitter) {
+            this.board = board;
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) return;
+            if (!pending.offer(event)) {
+                // too slow to keep up: let it reconnect and catch up from the replay buffer
+                close();
+                emitter.complete();
+                return;
+            }
+            if (scheduled.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                        emitter.completeWithError(e);
+                    }
+                }
+                scheduled.set(false);
+            } while (!closed && !pending.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+
+        void close() {
+            closed = true;
+            board.subscribers.remove(this);
+        }
+    }
+
+    public SseEmitter subscribe(String boardKey, String lastEventId) {
+        Board board = board(boardKey);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber s = new Subscriber(board, emitter);
+        emitter.onCompletion(s::close);
+        emitter.onTimeout(s::close);
+        emitter.onError(e -> s.close());
+
+        // register before reading the replay buffer so nothing falls in between;
+        // a message seen both ways is harmless, clients key items by id
+        board.subscribers.add(s);
+        long lastSeq = parseSeq(lastEventId);
+        if (lastSeq >= 0) {
+            List<Message> missed = board.since(lastSeq);
+            if (missed == null) {
+                s.offer(SseEmitter.event().name("reset").data("{}"));
+            } else {
+                missed.forEach(m -> s.offer(toEvent(m)));
+            }
+        } else {
+            s.offer(SseEmitter.event().comment("connected"));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onPostChanged(BoardPostChangedEvent e) {
+        // buffered even with no subscribers, so a client that is between reconnects can catch up
+        Board board = board(e.boardKey());
+        BoardPost p = e.post();
+        BoardPostListResponse.Item item = new BoardPostListResponse.Item(
+                p.getId(), p.getTitle(), p.getAuthor(), p.getCreatedAt(), p.getUpdatedAt(), p.getViews());
+        publish(board, e.type().name().toLowerCase(Locale.ROOT), jsonMapper.writeValueAsString(item));
+    }
+
+    // a bulk import is too large to replay item by item
+    @TransactionalEventListener
+    public void onPostsImported(BoardPostsImportedEvent e) {
+        publish(board(e.boardKey()), "reset", "{}");
+    }
+
+    @Scheduled(fixedDelayString = "${app.board.streamHeartbeatMs}")
+    public void heartbeat() {
+        // also how dead connections are noticed, since idle sockets never fail on their own
+        for (Board board : boards.values()) {
+            for (Subscriber s : board.subscribers) {
+                s.offer(SseEmitter.event().comment("hb"));
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Board board : boards.values()) {
+            for (Subscriber s : board.subscribers) {
+                s.close();
+                s.emitter.complete();
+            }
+        }
+        senders.shutdown();
+    }
+
+    private void publish(Board board, String name, String json) {
+        Message m = board.append(name, json);
+        for (Subscriber s : board.subscribers) {
+            s.offer(toEvent(m));
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toEvent(Message m) {
+        return SseEmitter.event().id(epoch + ":" + m.seq()).name(m.name()).data(m.data());
+    }
+
+    private long parseSeq(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) return -1;
+        int colon = lastEventId.indexOf(':');
+        // an id from before a restart cannot be resumed
+        if (colon < 0 || !lastEventId.substring(0, colon).equals(epoch)) return Long.MAX_VALUE;
+        try {
+            return Long.parseLong(lastEventId.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private Board board(String boardKey) {
+        return boards.computeIfAbsent(boardKey, k -> new Board());
+    }
+}
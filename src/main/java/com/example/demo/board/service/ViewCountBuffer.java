@@ -0,0 +1,131 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.event.BoardPostChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind view counter. Reads only bump an in-memory adder per post;
+ * the accumulated deltas are written to board_posts.views in batches.
+ * With {@code app.board.viewsMode=direct} nothing is buffered and each read
+ * increments the row itself (see BoardPostRepository#incrementViewsReturning).
+ */
+@Component
+public class ViewCountBuffer {
+
+    private static final String FLUSH_SQL = "update board_posts set views = views + ? where id = ?";
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // odd while deltas are out of memory and not yet written
+    private final AtomicLong flushGeneration = new AtomicLong();
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
+    private final boolean buffered;
+
+    public ViewCountBuffer(
+            JdbcTemplate jdbc,
+            @Value("${app.board.viewFlushBatchSize}") int batchSize,
+            @Value("${app.board.viewsMode}") String viewsMode
+    ) {
+        this.jdbc = jdbc;
+        this.batchSize = batchSize;
+        this.buffered = switch (viewsMode) {
+            case "buffered" -> true;
+            case "direct" -> false;
+            default -> throw new IllegalArgumentException("app.board.viewsMode must be buffered or direct: " + viewsMode);
+        };
+    }
+
+    public boolean isBuffered() {
+        return buffered;
+    }
+
+    public void increment(Long postId) {
+        // adders are never removed while their post exists, so this one is the live one
+        pending.computeIfAbsent(postId, k -> new LongAdder()).increment();
+    }
+
+    /** Views counted in memory but not yet written to the database. */
+    public long pendingFor(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder == null ? 0L : adder.sum();
+    }
+
+    /**
+     * Odd from the first delta taken out of memory until its batch is written; a reader that
+     * sees the same even value on both sides of "read the row, then {@link #pendingFor}" did
+     * not race a flush.
+     */
+    public long flushGeneration() {
+        return flushGeneration.get();
+    }
+
+    public void discard(Long postId) {
+        pending.remove(postId);
+    }
+
+    // after commit: a rolled-back delete keeps its post and must keep its views
+    @TransactionalEventListener
+    public void onPostChanged(BoardPostChangedEvent e) {
+        if (e.type() == BoardPostChangedEvent.Type.DELETED) discard(e.postId());
+    }
+
+    @Scheduled(fixedDelayString = "${app.board.viewFlushIntervalMs}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        List<LongAdder> taken = new ArrayList<>();
+
+        flushGeneration.incrementAndGet();
+        try {
+            for (Map.Entry<Long, LongAdder> e : pending.entrySet()) {
+                // an increment racing the reset lands either in this delta or in the next one
+                long delta = e.getValue().sumThenReset();
+                if (delta == 0) continue;
+                batch.add(new Object[]{delta, e.getKey()});
+                taken.add(e.getValue());
+
+                if (batch.size() >= batchSize) {
+                    write(batch, taken);
+                    batch = new ArrayList<>();
+                    taken = new ArrayList<>();
+                }
+            }
+            if (!batch.isEmpty()) write(batch, taken);
+        } finally {
+            flushGeneration.incrementAndGet();
+        }
+    }
+
+    private void write(List<Object[]> batch, List<LongAdder> taken) {
+        int[] counts;
+        try {
+            counts = jdbc.batchUpdate(FLUSH_SQL, batch);
+        } catch (RuntimeException ex) {
+            // put the deltas back so the next flush retries them
+            for (int i = 0; i < taken.size(); i++) {
+                taken.get(i).add((Long) batch.get(i)[0]);
+            }
+            throw ex;
+        }
+        // no row: the post is gone, a view raced its delete
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) pending.remove((Long) batch.get(i)[1], taken.get(i));
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
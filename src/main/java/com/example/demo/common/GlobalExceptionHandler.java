@@ -1,7 +1,9 @@
 package com.example.demo.common;
 
+import com.example.demo.auth.password.HashingBusyException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
@@ -29,6 +31,13 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(400).body(ApiError.of(400, "BAD_REQUEST", e.getMessage(), req.getRequestURI()));
     }
 
+    @ExceptionHandler(HashingBusyException.class)
+    public ResponseEntity<ApiError> busy(HashingBusyException e, HttpServletRequest req) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ApiError.of(429, "TOO_MANY_REQUESTS", e.getMessage(), req.getRequestURI()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> validation(MethodArgumentNotValidException e, HttpServletRequest req) {
         String msg = e.getBindingResult().getAllErrors().stream()
@@ -0,0 +1,31 @@
+package com.example.demo.common.jdbc;
+
+import java.util.Arrays;
+
+/** Parameter types bound to a prepared statement, e.g. {@code Long, String, null}; never values. */
+final class BindShape {
+
+    private String[] types = new String[8];
+    private int count;
+
+    void set(int index, Object value) {
+        if (index < 1) return;
+        if (index > types.length) types = Arrays.copyOf(types, Math.max(index, types.length * 2));
+        types[index - 1] = value == null ? "null" : value.getClass().getSimpleName();
+        count = Math.max(count, index);
+    }
+
+    void clear() {
+        Arrays.fill(types, 0, count, null);
+        count = 0;
+    }
+
+    String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(types[i] == null ? "?" : types[i]);
+        }
+        return sb.toString();
+    }
+}
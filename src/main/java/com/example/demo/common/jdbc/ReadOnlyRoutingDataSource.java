@@ -0,0 +1,48 @@
+package com.example.demo.common.jdbc;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only side of the routing LazyConnectionDataSourceProxy: hands out replica
+ * connections, or read-only primary connections whenever {@link ReplicaRouting} says
+ * the replica must not be used right now.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final ReplicaRouting routing;
+
+    public ReadOnlyRoutingDataSource(DataSource replica, DataSource primary, ReplicaRouting routing) {
+        this.replica = replica;
+        this.primary = primary;
+        this.routing = routing;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routing.useReplica()) return replica.getConnection();
+        return readOnly(primary.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (routing.useReplica()) return replica.getConnection(username, password);
+        return readOnly(primary.getConnection(username, password));
+    }
+
+    // the pool resets the flag when the connection is returned
+    private static Connection readOnly(Connection con) throws SQLException {
+        try {
+            con.setReadOnly(true);
+            return con;
+        } catch (SQLException | RuntimeException e) {
+            con.close();
+            throw e;
+        }
+    }
+}
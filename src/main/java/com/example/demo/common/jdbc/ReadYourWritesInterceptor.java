@@ -0,0 +1,62 @@
+package com.example.demo.common.jdbc;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Pins a request's reads to the primary when the same client (user id, or IP for guests
+ * and for signup/login before a token exists) made a successful write shortly before,
+ * so a user sees their own post even while the replica is behind.
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReplicaRouting routing;
+
+    public ReadYourWritesInterceptor(ReplicaRouting routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!routing.isEnabled()) return true;
+        String user = userKey();
+        if (routing.wroteRecently(ipKey(request)) || (user != null && routing.wroteRecently(user))) {
+            routing.pin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!routing.isEnabled()) return;
+        routing.unpin();
+        if (ex == null && response.getStatus() < 400 && isWrite(request.getMethod())) {
+            routing.recordWrite(ipKey(request));
+            String user = userKey();
+            if (user != null) routing.recordWrite(user);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        routing.unpin();
+    }
+
+    private static boolean isWrite(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static String ipKey(HttpServletRequest request) {
+        return "ip|" + request.getRemoteAddr();
+    }
+
+    private static String userKey() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) return null;
+        return "user|" + auth.getName();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.demo.common.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Polls the replica's replay delay. Reads fall back to the primary while the lag is
+ * over {@code maxLagMs} or the replica cannot be queried. A standby that has replayed
+ * everything it received reports zero, so an idle primary does not look like lag; a
+ * server that is not in recovery (a plain Postgres stand-in) also reports zero.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String LAG_SQL = """
+            select case
+                     when not pg_is_in_recovery() then 0
+                     when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                     else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end""";
+
+    private final JdbcTemplate replica;
+    private final ReplicaRouting routing;
+    private final long maxLagMs;
+
+    private volatile double lagMs = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaRouting routing, long maxLagMs, MeterRegistry meters) {
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(5);
+        this.routing = routing;
+        this.maxLagMs = maxLagMs;
+        Gauge.builder("app.db.replica.lag", this, m -> m.lagMs)
+                .description("Replica replay lag in milliseconds (NaN while unreachable)")
+                .baseUnit("milliseconds")
+                .register(meters);
+    }
+
+    @Scheduled(fixedDelayString = "${app.db.replica.lagCheckIntervalMs}")
+    public void check() {
+        boolean usable;
+        long started = System.currentTimeMillis();
+        try {
+            Double lag = replica.queryForObject(LAG_SQL, Double.class);
+            lagMs = lag == null ? 0 : lag;
+            usable = lagMs <= maxLagMs;
+            routing.replicaCaughtUpTo(started - (long) Math.ceil(lagMs));
+        } catch (RuntimeException e) {
+            lagMs = Double.NaN;
+            usable = false;
+            log.debug("replica lag check failed", e);
+        }
+        if (usable != routing.isReplicaUsable()) {
+            log.warn(usable ? "replica caught up (lag {} ms), routing reads to it"
+                    : "replica lag {} ms over limit or unreachable, routing reads to primary", lagMs);
+        }
+        routing.replicaUsable(usable);
+    }
+}
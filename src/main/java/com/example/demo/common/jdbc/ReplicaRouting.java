@@ -0,0 +1,98 @@
+package com.example.demo.common.jdbc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a read-only transaction may use the replica. Reads go to the primary
+ * when no replica is configured, while the replica is lagging or unreachable, and for
+ * clients that wrote within the last {@code stickyPrimaryMs} (read-your-writes), which
+ * {@link ReadYourWritesInterceptor} pins per request.
+ */
+@Component
+public class ReplicaRouting {
+
+    private final ConcurrentHashMap<String, Long> recentWriters = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> pinned = new ThreadLocal<>();
+    private final boolean enabled;
+    private final long stickyNanos;
+
+    // false until ReplicaLagMonitor has seen the replica once
+    private volatile boolean replicaUsable;
+    // every commit made before this wall-clock time had been replayed at the last lag check
+    private volatile long caughtUpToMillis;
+
+    public ReplicaRouting(
+            @Value("${app.db.replica.url}") String replicaUrl,
+            @Value("${app.db.replica.stickyPrimaryMs}") long stickyPrimaryMs
+    ) {
+        this.enabled = !replicaUrl.isBlank();
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyPrimaryMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean useReplica() {
+        return enabled && replicaUsable && pinned.get() == null;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public void replicaUsable(boolean usable) {
+        this.replicaUsable = usable;
+    }
+
+    public void replicaCaughtUpTo(long millis) {
+        this.caughtUpToMillis = millis;
+    }
+
+    /** Whether a read from the replica is known to include a change committed at that time. */
+    public boolean hasCaughtUpTo(long committedAtMillis) {
+        return !enabled || committedAtMillis == 0 || committedAtMillis < caughtUpToMillis;
+    }
+
+    public void recordWrite(String client) {
+        if (enabled) recentWriters.put(client, System.nanoTime() + stickyNanos);
+    }
+
+    public boolean wroteRecently(String client) {
+        Long until = recentWriters.get(client);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /** Routes reads on this thread to the primary until {@link #unpin()}. */
+    public void pin() {
+        pinned.set(Boolean.TRUE);
+    }
+
+    public void unpin() {
+        pinned.remove();
+    }
+
+    // for reads that feed shared caches, which must not be filled from a lagging copy;
+    // only effective outside a transaction that already holds a connection
+    public <T> T onPrimary(Supplier<T> work) {
+        if (!enabled || pinned.get() != null) return work.get();
+        pinned.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            pinned.remove();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.db.replica.stickyPrimaryMs}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now <= 0);
+    }
+}
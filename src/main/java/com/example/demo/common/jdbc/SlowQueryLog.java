@@ -0,0 +1,153 @@
+package com.example.demo.common.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+
+/**
+ * Captures statements slower than {@code slowQueryThresholdMs} plus a random sample of the
+ * rest. The executing thread only drops an entry into a fixed ring buffer; normalizing,
+ * aggregating per statement shape and logging happen on the scheduled drain. When the
+ * buffer laps the drain, the oldest entries are lost and counted in {@link #dropped()}.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final int MAX_STATEMENTS = 1000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private record Entry(long seq, String sql, String binds, long nanos, boolean slow) {}
+
+    public record StatementStats(String sql, String binds, long count, long slowCount,
+                                 double maxMs, double avgMs, double totalMs) {}
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final AtomicReferenceArray<Entry> ring;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long tail;
+
+    // guarded by this; written by the drain, read by the admin endpoint
+    private final Map<String, Aggregate> statements = new HashMap<>();
+
+    public SlowQueryLog(
+            @Value("${app.db.slowQueryThresholdMs}") long thresholdMs,
+            @Value("${app.db.slowQuerySampleRate}") double sampleRate,
+            @Value("${app.db.slowQueryBufferSize}") int bufferSize
+    ) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.sampleRate = sampleRate;
+        int size = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /** Called on the executing thread; binds is only evaluated for recorded statements. */
+    void record(String sql, BindShape binds, long nanos) {
+        boolean slow = nanos >= thresholdNanos;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) return;
+        long seq = head.getAndIncrement();
+        ring.set((int) (seq & mask), new Entry(seq, sql, binds == null ? "" : binds.describe(), nanos, slow));
+    }
+
+    @Scheduled(fixedDelayString = "${app.db.slowQueryDrainIntervalMs}")
+    public synchronized void drain() {
+        long end = head.get();
+        if (end - tail > ring.length()) {
+            dropped.addAndGet(end - tail - ring.length());
+            tail = end - ring.length();
+        }
+        for (; tail < end; tail++) {
+            Entry e = ring.get((int) (tail & mask));
+            // slot claimed but not yet written: pick it up on the next drain
+            if (e == null || e.seq() < tail) break;
+            // overwritten by a writer that lapped us
+            if (e.seq() > tail) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            String shape = normalize(e.sql());
+            if (e.slow()) {
+                log.warn("slow query {}ms binds=[{}]: {}",
+                        TimeUnit.NANOSECONDS.toMillis(e.nanos()), e.binds(), shape);
+            }
+            Aggregate a = statements.get(shape);
+            if (a == null) {
+                if (statements.size() >= MAX_STATEMENTS) evictFastest();
+                a = new Aggregate(e.binds());
+                statements.put(shape, a);
+            }
+            a.add(e.nanos(), e.slow());
+        }
+    }
+
+    /** Slowest normalized statements by worst observed time. */
+    public synchronized List<StatementStats> top(int n) {
+        List<StatementStats> out = new ArrayList<>(statements.size());
+        statements.forEach((sql, a) -> out.add(new StatementStats(
+                sql, a.binds, a.count, a.slowCount,
+                a.maxNanos / 1e6, a.totalNanos / 1e6 / a.count, a.totalNanos / 1e6)));
+        out.sort(Comparator.comparingDouble(StatementStats::maxMs).reversed());
+        return out.size() > n ? List.copyOf(out.subList(0, n)) : out;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public synchronized void reset() {
+        statements.clear();
+    }
+
+    private void evictFastest() {
+        statements.entrySet().stream()
+                .min(Comparator.comparingLong(en -> en.getValue().maxNanos))
+                .ifPresent(en -> statements.remove(en.getKey()));
+    }
+
+    static String normalize(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        s = IN_LIST.matcher(s).replaceAll("(?...)");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
+    }
+
+    private static final class Aggregate {
+        final String binds;
+        long count;
+        long slowCount;
+        long totalNanos;
+        long maxNanos;
+
+        Aggregate(String binds) {
+            this.binds = binds;
+        }
+
+        void add(long nanos, boolean slow) {
+            count++;
+            if (slow) slowCount++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.common.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed through this data source and hands it to
+ * {@link SlowQueryLog}. Replaces show-sql: nothing is printed inline, and bind values
+ * are reduced to their types before they leave the statement.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private final ObjectProvider<SlowQueryLog> logProvider;
+    private volatile SlowQueryLog log;
+
+    public StatementTimingDataSource(DataSource target, ObjectProvider<SlowQueryLog> logProvider) {
+        super(target);
+        this.logProvider = logProvider;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return timing(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return timing(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private SlowQueryLog log() {
+        SlowQueryLog l = log;
+        if (l == null) log = l = logProvider.getObject();
+        return l;
+    }
+
+    private Connection timing(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            String name = method.getName();
+            if (result instanceof CallableStatement cs && "prepareCall".equals(name)) {
+                return prepared(CallableStatement.class, cs, (String) args[0]);
+            }
+            if (result instanceof PreparedStatement ps && "prepareStatement".equals(name)) {
+                return prepared(PreparedStatement.class, ps, (String) args[0]);
+            }
+            if (result instanceof Statement st && "createStatement".equals(name)) {
+                return plain(st);
+            }
+            return result;
+        });
+    }
+
+    private <T extends PreparedStatement> T prepared(Class<T> type, T target, String sql) {
+        BindShape binds = new BindShape();
+        return proxy(type, target, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                binds.set(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                binds.clear();
+            }
+            if (!name.startsWith("execute")) return invoke(target, method, args);
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                log().record(args != null && args.length > 0 && args[0] instanceof String s ? s : sql,
+                        binds, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private Statement plain(Statement target) {
+        return proxy(Statement.class, target, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute") || args == null || !(args[0] instanceof String sql)) {
+                return invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                log().record(sql, null, System.nanoTime() - start);
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object proxy, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (("unwrap".equals(name) || "isWrapperFor".equals(name)) && ((Class<?>) args[0]).isInstance(proxy)) {
+                return "unwrap".equals(name) ? proxy : true;
+            }
+            return handler.handle(proxy, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call on a Spring Data repository as {@code app.db{repository,method}}.
+ * Timers are registered once per method, so a call costs two nanoTime reads and a map
+ * lookup; the recorded time includes connection acquisition and result mapping.
+ */
+public class RepositoryTimingInterceptor implements MethodInterceptor {
+
+    public static final String METRIC = "app.db";
+
+    private final ConcurrentHashMap<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final ObjectProvider<MeterRegistry> registry;
+    private final String repository;
+
+    public RepositoryTimingInterceptor(ObjectProvider<MeterRegistry> registry, Class<?> repositoryInterface) {
+        this.registry = registry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) return invocation.proceed();
+
+        Timer timer = timers.get(method);
+        if (timer == null) timer = timers.computeIfAbsent(method, this::register);
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(Method method) {
+        return Timer.builder(METRIC)
+                .description("Time spent in repository calls")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .publishPercentileHistogram()
+                .register(registry.getObject());
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON converter that records response serialization as {@code app.http.serialization{type}},
+ * one timer per response body class. Writing goes straight to the response stream, so a
+ * slow client shows up here as well as in http.server.requests.
+ */
+public class TimedJsonHttpMessageConverter extends JacksonJsonHttpMessageConverter {
+
+    public static final String METRIC = "app.http.serialization";
+
+    private final ConcurrentHashMap<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public TimedJsonHttpMessageConverter(JsonMapper mapper, MeterRegistry registry) {
+        super(mapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, ResolvableType resolvableType,
+                                 HttpOutputMessage outputMessage, Map<String, Object> hints) throws IOException {
+        Class<?> type = object.getClass();
+        Timer timer = timers.get(type);
+        if (timer == null) timer = timers.computeIfAbsent(type, this::register);
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, resolvableType, outputMessage, hints);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(Class<?> type) {
+        return Timer.builder(METRIC)
+                .description("Time spent writing JSON response bodies")
+                .tag("type", type.getSimpleName())
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
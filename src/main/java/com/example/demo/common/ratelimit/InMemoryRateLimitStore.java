@@ -0,0 +1,57 @@
+package com.example.demo.common.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buckets in a ConcurrentHashMap, each updated with a CAS on an immutable state, so
+ * there are no locks on the request path. A bucket that has been idle long enough to
+ * refill completely is indistinguishable from a new one and is evicted.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private record State(double tokens, long lastNanos) {}
+
+    private static final class Bucket {
+        final Bandwidth bandwidth;
+        final AtomicReference<State> state;
+
+        Bucket(Bandwidth bandwidth, long now) {
+            this.bandwidth = bandwidth;
+            this.state = new AtomicReference<>(new State(bandwidth.capacity(), now));
+        }
+    }
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public long tryConsume(String key, Bandwidth bandwidth) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) bucket = buckets.computeIfAbsent(key, k -> new Bucket(bandwidth, now));
+        double rate = bandwidth.tokensPerNano();
+
+        while (true) {
+            State s = bucket.state.get();
+            double tokens = Math.min(bandwidth.capacity(), s.tokens() + (now - s.lastNanos()) * rate);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / rate);
+            }
+            if (bucket.state.compareAndSet(s, new State(tokens - 1, Math.max(now, s.lastNanos())))) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.rateLimit.evictIntervalMs}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(b -> now - b.state.get().lastNanos() >= b.bandwidth.period().toNanos());
+    }
+}
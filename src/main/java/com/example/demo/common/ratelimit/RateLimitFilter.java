@@ -0,0 +1,161 @@
+package com.example.demo.common.ratelimit;
+
+import com.example.demo.common.GlobalExceptionHandler.ApiError;
+import com.example.demo.common.ratelimit.RateLimitStore.Bandwidth;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the endpoints that are open to anonymous callers and cost a BCrypt hash
+ * (login, signup, guest board writes), plus refresh. Runs ahead of JwtAuthFilter, so
+ * rejected requests never reach token verification or hashing.
+ * Keys: client IP everywhere, the email for login/signup (guessing one account from
+ * many IPs), and board + post id for PUT/DELETE (guessing one guest post's password).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_AUTH_BODY_BYTES = 16 * 1024;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record EmailOnly(String email) {}
+
+    private final RateLimitStore store;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final Bandwidth loginPerIp;
+    private final Bandwidth loginPerEmail;
+    private final Bandwidth signupPerIp;
+    private final Bandwidth refreshPerIp;
+    private final Bandwidth writePerIp;
+    private final Bandwidth writePerPost;
+    private final Counter rejected;
+
+    public RateLimitFilter(
+            RateLimitStore store,
+            JsonMapper jsonMapper,
+            MeterRegistry meters,
+            @Value("${app.rateLimit.enabled}") boolean enabled,
+            @Value("${app.rateLimit.loginPerIpPerMinute}") long loginPerIp,
+            @Value("${app.rateLimit.loginPerEmailPerMinute}") long loginPerEmail,
+            @Value("${app.rateLimit.signupPerIpPerMinute}") long signupPerIp,
+            @Value("${app.rateLimit.refreshPerIpPerMinute}") long refreshPerIp,
+            @Value("${app.rateLimit.writePerIpPerMinute}") long writePerIp,
+            @Value("${app.rateLimit.writePerPostPerMinute}") long writePerPost
+    ) {
+        this.store = store;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+        this.loginPerIp = Bandwidth.perMinute(loginPerIp);
+        this.loginPerEmail = Bandwidth.perMinute(loginPerEmail);
+        this.signupPerIp = Bandwidth.perMinute(signupPerIp);
+        this.refreshPerIp = Bandwidth.perMinute(refreshPerIp);
+        this.writePerIp = Bandwidth.perMinute(writePerIp);
+        this.writePerPost = Bandwidth.perMinute(writePerPost);
+        this.rejected = Counter.builder("app.ratelimit.rejected")
+                .description("Requests answered with 429 by RateLimitFilter")
+                .register(meters);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) return true;
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        // decoded like MVC's lookup path, so /auth/%6Cogin or /api/boards/%62oard1 share the real buckets
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        String ip = request.getRemoteAddr();
+        long wait = 0;
+
+        switch (path) {
+            case "/auth/login", "/auth/signup" -> {
+                boolean login = path.equals("/auth/login");
+                wait = store.tryConsume(path + "|ip|" + ip, login ? loginPerIp : signupPerIp);
+                if (wait == 0) {
+                    CachedBodyRequest cached = cacheBody(request);
+                    if (cached == null) {
+                        response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                        return;
+                    }
+                    request = cached;
+                    String email = email(cached.body());
+                    if (email != null) wait = store.tryConsume(path + "|email|" + email, loginPerEmail);
+                }
+            }
+            case "/auth/refresh" -> wait = store.tryConsume("refresh|ip|" + ip, refreshPerIp);
+            default -> {
+                if (path.startsWith("/api/boards/")) {
+                    wait = store.tryConsume("write|ip|" + ip, writePerIp);
+                    String post = postKey(path);
+                    if (wait == 0 && post != null) wait = store.tryConsume("write|post|" + post, writePerPost);
+                }
+            }
+        }
+
+        if (wait > 0) {
+            reject(request, response, wait);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        rejected.increment();
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(jsonMapper.writeValueAsString(
+                ApiError.of(429, "TOO_MANY_REQUESTS", "Too many requests, retry later.", request.getRequestURI())));
+    }
+
+    // "/api/boards/{boardKey}/posts/{id}" -> "boardKey/id"
+    static String postKey(String path) {
+        String[] parts = path.split("/");
+        if (parts.length != 6 || !"posts".equals(parts[4])) return null;
+        return parts[3] + "/" + parts[5];
+    }
+
+    private static CachedBodyRequest cacheBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > MAX_AUTH_BODY_BYTES) return null;
+        try (InputStream in = request.getInputStream()) {
+            byte[] body = in.readNBytes(MAX_AUTH_BODY_BYTES + 1);
+            return body.length > MAX_AUTH_BODY_BYTES ? null : new CachedBodyRequest(request, body);
+        }
+    }
+
+    private String email(byte[] body) {
+        try {
+            EmailOnly parsed = jsonMapper.readValue(body, EmailOnly.class);
+            return parsed == null || parsed.email() == null ? null : parsed.email().trim().toLowerCase(Locale.ROOT);
+        } catch (JacksonException e) {
+            return null; // malformed JSON is rejected by the controller anyway
+        }
+    }
+}
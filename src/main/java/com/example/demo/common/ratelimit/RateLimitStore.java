@@ -0,0 +1,30 @@
+package com.example.demo.common.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Token buckets by key. The in-process {@link InMemoryRateLimitStore} is the default;
+ * declare another RateLimitStore bean (e.g. backed by a store shared between nodes)
+ * to replace it.
+ */
+public interface RateLimitStore {
+
+    /** Up to {@code capacity} requests at once, refilled evenly over {@code period}. */
+    record Bandwidth(long capacity, Duration period) {
+
+        public static Bandwidth perMinute(long capacity) {
+            return new Bandwidth(capacity, Duration.ofMinutes(1));
+        }
+
+        double tokensPerNano() {
+            return (double) capacity / period.toNanos();
+        }
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}.
+     *
+     * @return 0 if the request may proceed, otherwise how long until a token is available
+     */
+    long tryConsume(String key, Bandwidth bandwidth);
+}
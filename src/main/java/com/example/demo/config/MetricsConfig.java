@@ -0,0 +1,61 @@
+package com.example.demo.config;
+
+import com.example.demo.common.jdbc.SlowQueryLog;
+import com.example.demo.common.jdbc.StatementTimingDataSource;
+import com.example.demo.common.metrics.RepositoryTimingInterceptor;
+import com.example.demo.common.metrics.TimedJsonHttpMessageConverter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+// latency histograms per endpoint (http.server.requests), per repository method and for JSON writing;
+// statement timing for the slow-query log
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    static BeanPostProcessor repositoryTiming(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof Repository<?, ?>)) return bean;
+                Class<?> repositoryInterface = Arrays.stream(bean.getClass().getInterfaces())
+                        .filter(i -> Repository.class.isAssignableFrom(i) && i.getPackageName().startsWith("com.example.demo"))
+                        .findFirst()
+                        .orElse(null);
+                if (repositoryInterface == null) return bean;
+
+                ProxyFactory proxy = new ProxyFactory(bean);
+                proxy.addAdvice(new RepositoryTimingInterceptor(registry, repositoryInterface));
+                return proxy.getProxy(bean.getClass().getClassLoader());
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor statementTiming(ObjectProvider<SlowQueryLog> slowQueries) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource ds && "dataSource".equals(beanName)) {
+                    return new StatementTimingDataSource(ds, slowQueries);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    JacksonJsonHttpMessageConverter jacksonJsonHttpMessageConverter(JsonMapper jsonMapper, MeterRegistry registry) {
+        return new TimedJsonHttpMessageConverter(jsonMapper, registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.config;
+
+import com.example.demo.common.ratelimit.InMemoryRateLimitStore;
+import com.example.demo.common.ratelimit.RateLimitStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    // per node; a shared store replaces this by declaring its own RateLimitStore bean
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    InMemoryRateLimitStore rateLimitStore() {
+        return new InMemoryRateLimitStore();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.config;
+
+import com.example.demo.common.jdbc.ReadOnlyRoutingDataSource;
+import com.example.demo.common.jdbc.ReplicaLagMonitor;
+import com.example.demo.common.jdbc.ReplicaRouting;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+// only active with app.db.replica.url set. Replaces the auto-configured pool: "dataSource"
+// (still wrapped by the statementTiming post-processor; dbConcurrencyLimiter wraps the two
+// pools instead) fetches its physical connection lazily, once the transaction's read-only
+// flag is known, from the primary pool or, for read-only transactions, from
+// ReadOnlyRoutingDataSource.
+// Needs spring.jpa.open-in-view=false: a request-long session would keep the first connection.
+@Configuration
+@ConditionalOnExpression("!'${app.db.replica.url:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password
+    ) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName("primary");
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        return ds;
+    }
+
+    @Bean(defaultCandidate = false)
+    HikariDataSource replicaDataSource(
+            @Value("${app.db.replica.url}") String url,
+            @Value("${app.db.replica.username}") String username,
+            @Value("${app.db.replica.password}") String password,
+            @Value("${app.db.replica.poolSize}") int poolSize,
+            @Value("${spring.datasource.hikari.connection-timeout}") long connectionTimeoutMs
+    ) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName("replica");
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
+        ds.setMaximumPoolSize(poolSize);
+        ds.setConnectionTimeout(connectionTimeoutMs);
+        ds.setReadOnly(true);
+        return ds;
+    }
+
+    @Bean
+    DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaRouting routing
+    ) {
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(primary);
+        lazy.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(replica, primary, routing));
+        // known defaults, so the proxy does not probe a connection at startup
+        lazy.setDefaultAutoCommit(true);
+        lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return lazy;
+    }
+
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaRouting routing,
+            MeterRegistry meters,
+            @Value("${app.db.replica.maxLagMs}") long maxLagMs
+    ) {
+        return new ReplicaLagMonitor(replica, routing, maxLagMs, meters);
+    }
+}
@@ -1,13 +1,18 @@
 package com.example.demo.config;
 
 import com.example.demo.auth.jwt.JwtAuthFilter;
+import com.example.demo.auth.password.BoundedPasswordEncoder;
+import com.example.demo.board.policy.BoardAccess;
+import com.example.demo.board.policy.BoardPolicies;
+import com.example.demo.common.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
@@ -23,12 +28,26 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.bcryptCost}") int bcryptCost,
+            @Value("${app.security.bcryptTargetMillis}") long bcryptTargetMillis,
+            @Value("${app.security.hashingThreads}") int hashingThreads,
+            @Value("${app.security.hashingQueueCapacity}") int hashingQueueCapacity,
+            MeterRegistry meters
+    ) {
+        // cost 0 = calibrate on this machine; rehash-on-login upgrades older hashes
+        int cost = bcryptCost > 0 ? bcryptCost : BoundedPasswordEncoder.calibrateCost(bcryptTargetMillis);
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(cost, threads, hashingQueueCapacity, meters);
     }
 
     @Bean
-    SecurityFilterChain filterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter) throws Exception {
+    SecurityFilterChain filterChain(
+            HttpSecurity http,
+            JwtAuthFilter jwtAuthFilter,
+            RateLimitFilter rateLimitFilter,
+            BoardPolicies policies
+    ) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(req -> {
@@ -49,15 +68,19 @@ public class SecurityConfig {
                         .requestMatchers("/auth/login", "/auth/refresh", "/auth/logout", "/auth/signup").permitAll()
                         .requestMatchers("/auth/me").authenticated()
 
-                        .requestMatchers(HttpMethod.GET, "/api/boards/board2/posts").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/boards/board2/posts/**").authenticated()
-                        .requestMatchers("/api/boards/board2/**").authenticated()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
-                        .requestMatchers("/api/boards/**").permitAll()
+                        // probes stay open; metrics (per-endpoint latency, pool sizes) are admin-only
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                        // login requirements per board come from app.boards.* (see BoardPolicies)
+                        .requestMatchers("/api/boards/**").access(BoardAccess.manager(policies))
 
                         .anyRequest().permitAll()
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthFilter.class);
 
         http.headers(h -> h
                 .frameOptions(f -> f.deny())
@@ -71,4 +94,4 @@ public class SecurityConfig {
 
         return http.build();
     }
-}
\ No newline at end of file
+}
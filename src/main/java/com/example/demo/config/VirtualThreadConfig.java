@@ -0,0 +1,46 @@
+package com.example.demo.config;
+
+import com.example.demo.common.jdbc.ConcurrencyLimitedDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// only active when virtual threads are actually in use: spring.threads.virtual.enabled=true
+// on a Java 21+ runtime (see build.gradle); with the property alone on Java 17 nothing changes
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // one limiter per physical pool, sized to that pool. With a replica, "dataSource" is the
+    // routing proxy and is left alone: a permit there would count replica reads against the
+    // primary's pool size.
+    @Bean
+    static BeanPostProcessor dbConcurrencyLimiter(
+            @Value("${app.db.maxConcurrency}") int maxConcurrency,
+            @Value("${app.db.acquireTimeoutMs}") long acquireTimeoutMs,
+            @Value("${spring.datasource.hikari.maximum-pool-size}") int poolSize,
+            @Value("${app.db.replica.poolSize}") int replicaPoolSize,
+            @Value("${app.db.replica.url:}") String replicaUrl
+    ) {
+        int primaryPermits = maxConcurrency > 0 ? maxConcurrency : poolSize;
+        boolean replica = !replicaUrl.isBlank();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds)) return bean;
+                return switch (beanName) {
+                    case "primaryDataSource" -> new ConcurrencyLimitedDataSource(ds, primaryPermits, acquireTimeoutMs);
+                    case "replicaDataSource" -> new ConcurrencyLimitedDataSource(ds, replicaPoolSize, acquireTimeoutMs);
+                    // the auto-configured pool, when there is no replica
+                    case "dataSource" -> replica ? bean : new ConcurrencyLimitedDataSource(ds, primaryPermits, acquireTimeoutMs);
+                    default -> bean;
+                };
+            }
+        };
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.demo.config;
 
+import com.example.demo.common.jdbc.ReadYourWritesInterceptor;
+import com.example.demo.common.jdbc.ReplicaRouting;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ReplicaRouting replicaRouting;
+
+    public WebConfig(ReplicaRouting replicaRouting) {
+        this.replicaRouting = replicaRouting;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**")
@@ -15,4 +24,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(false); // true only if you use cookies/sessions
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replicaRouting));
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.demo.controller;
+
+import com.example.demo.common.jdbc.SlowQueryLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/slow-queries")
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+    private final SlowQueryLog slowQueries;
+
+    @GetMapping
+    public Map<String, Object> top(@RequestParam(defaultValue = "20") int limit) {
+        slowQueries.drain();
+        List<SlowQueryLog.StatementStats> statements = slowQueries.top(Math.min(Math.max(limit, 1), 200));
+        return Map.of("statements", statements, "dropped", slowQueries.dropped());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        slowQueries.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,35 @@
+-- Schema as it existed before migrations were added. Existing databases are baselined
+-- at this version (spring.flyway.baseline-version=1) and skip it; "if not exists" keeps
+-- it harmless on a partially created schema.
+
+create table if not exists app_users (
+    id            bigint generated by default as identity primary key,
+    email         varchar(255) not null unique,
+    password_hash varchar(255) not null,
+    role          varchar(30)  not null,
+    name          varchar(100),
+    created_at    timestamp(6) not null,
+    updated_at    timestamp(6) not null
+);
+
+create table if not exists auth_refresh_tokens (
+    id         bigint generated by default as identity primary key,
+    user_id    bigint       not null references app_users (id) on delete cascade,
+    token_hash varchar(255) not null,
+    expires_at timestamp(6) not null,
+    revoked_at timestamp(6),
+    created_at timestamp(6) not null
+);
+
+create table if not exists board_posts (
+    id             bigint generated by default as identity primary key,
+    board_key      varchar(255) not null,
+    title          varchar(255) not null,
+    author         varchar(255),
+    content        text,
+    created_at     timestamp(6) not null,
+    updated_at     timestamp(6) not null,
+    views          bigint       not null default 0,
+    password_hash  varchar(255),
+    author_user_id bigint
+);
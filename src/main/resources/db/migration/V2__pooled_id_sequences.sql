@@ -0,0 +1,29 @@
+-- Hibernate now allocates ids from these sequences 50 at a time (allocationSize = 50),
+-- so each sequence must advance by 50. Works for both serial and identity id columns;
+-- plain DEFAULT inserts keep working, they just leave gaps.
+-- board_posts is left at one id per nextval: its ids must grow with insert time.
+DO $$
+DECLARE
+    t text;
+    seq text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['app_users', 'auth_refresh_tokens'] LOOP
+        IF to_regclass(t) IS NULL THEN
+            CONTINUE;
+        END IF;
+
+        IF EXISTS (SELECT 1 FROM pg_attribute
+                   WHERE attrelid = t::regclass AND attname = 'id' AND attidentity <> '') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', t);
+        ELSE
+            seq := pg_get_serial_sequence(t, 'id');
+            IF seq IS NULL THEN
+                EXECUTE format('CREATE SEQUENCE %I INCREMENT BY 50 OWNED BY %I.id', t || '_id_seq', t);
+                EXECUTE format('SELECT setval(%L, COALESCE((SELECT max(id) FROM %I), 0) + 1, false)', t || '_id_seq', t);
+                EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET DEFAULT nextval(%L)', t, t || '_id_seq');
+            ELSE
+                EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+            END IF;
+        END IF;
+    END LOOP;
+END $$;
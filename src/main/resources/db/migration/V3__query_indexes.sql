@@ -0,0 +1,21 @@
+-- Indexes behind the repository queries. CONCURRENTLY so existing tables stay writable;
+-- Flyway runs this migration outside a transaction because of it.
+
+-- findPage / findAfter / countByBoardKey: newest-first scans and index-only counts per board
+create index concurrently if not exists board_posts_board_key_id_idx
+    on board_posts (board_key, id desc);
+
+-- findTopByTokenHashAndRevokedAtIsNull and rotate(): only live tokens are ever looked up by hash
+create index concurrently if not exists auth_refresh_tokens_live_token_hash_idx
+    on auth_refresh_tokens (token_hash) where revoked_at is null;
+
+-- deleteByExpiresAtBefore and purgeBatch
+create index concurrently if not exists auth_refresh_tokens_expires_at_idx
+    on auth_refresh_tokens (expires_at);
+
+create index concurrently if not exists auth_refresh_tokens_revoked_at_idx
+    on auth_refresh_tokens (revoked_at) where revoked_at is not null;
+
+-- on delete cascade from app_users
+create index concurrently if not exists auth_refresh_tokens_user_id_idx
+    on auth_refresh_tokens (user_id);
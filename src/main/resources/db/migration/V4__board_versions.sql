@@ -0,0 +1,7 @@
+-- One row per board, bumped in every post write transaction. List ETags are read from
+-- here so that every node sees writes made through any other node.
+create table if not exists board_versions (
+    board_key         varchar(255) primary key,
+    version           bigint       not null,
+    changed_at_millis bigint       not null
+);
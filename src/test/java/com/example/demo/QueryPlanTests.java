@@ -0,0 +1,278 @@
+package com.example.demo;
+
+import com.example.demo.auth.repository.AppUserRepository;
+import com.example.demo.auth.repository.RefreshTokenRepository;
+import com.example.demo.board.repository.BoardPostRepository;
+import com.example.demo.board.service.ViewCountBuffer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the migrations on a throwaway Postgres, calls each repository query through the
+ * application context and EXPLAINs the SQL it actually sent, with the same bind values.
+ * Sequential scans are disabled for the explaining session, so the planner only falls back
+ * to one when no index can serve the query at all; each query must also hit its intended index.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.security.oauth2.client.registration.google.client-id=test",
+        "spring.security.oauth2.client.registration.google.client-secret=test",
+        "spring.security.oauth2.client.registration.google.scope=openid",
+        "app.jwt.secret=test-secret-test-secret-test-secret-0123456789",
+        "app.rateLimit.enabled=false",
+        "app.board.popularCheckpointPath="
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    static JdbcTemplate explainer;
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+
+        SingleConnectionDataSource ds = new SingleConnectionDataSource(
+                postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword(), true);
+        explainer = new JdbcTemplate(ds);
+        explainer.execute("""
+                insert into app_users (email, password_hash, role, created_at, updated_at)
+                select 'user' || g || '@example.com', 'x', 'USER', now(), now() from generate_series(1, 1000) g""");
+        explainer.execute("""
+                insert into board_posts (board_key, title, author, content, created_at, updated_at, views)
+                select case when g % 4 = 0 then 'board2' else 'board1' end, 'title ' || g, 'author', 'content ' || g,
+                       now(), now(), 0
+                from generate_series(1, 20000) g""");
+        explainer.execute("""
+                insert into auth_refresh_tokens (user_id, token_hash, expires_at, revoked_at, created_at)
+                select (select min(id) from app_users) + g % 1000, md5(g::text), now() + interval '1 day',
+                       case when g % 3 = 0 then now() end, now()
+                from generate_series(1, 20000) g""");
+        explainer.execute("analyze");
+        explainer.execute("set enable_seqscan = off");
+    }
+
+    @TestConfiguration
+    static class Capture {
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource ds && "dataSource".equals(beanName)) {
+                        return new CapturingDataSource(ds);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    BoardPostRepository posts;
+
+    @Autowired
+    AppUserRepository users;
+
+    @Autowired
+    RefreshTokenRepository tokens;
+
+    @Autowired
+    ViewCountBuffer viewCounts;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Stream<Arguments> repositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page3 = PageRequest.of(2, 20, Sort.by(Sort.Direction.DESC, "id"));
+        return Stream.of(
+                query("BoardPostRepository.findPage", "board_posts_board_key_id_idx",
+                        () -> posts.findPage("board1", null, page3)),
+                query("BoardPostRepository.findPage (search)", "board_posts_board_key_id_idx",
+                        () -> posts.findPage("board1", "title 5", page3)),
+                query("BoardPostRepository.findAfter", "board_posts_board_key_id_idx",
+                        () -> posts.findAfter("board1", null, 10_000L, Limit.of(21))),
+                query("BoardPostRepository.findAfter (search)", "board_posts_board_key_id_idx",
+                        () -> posts.findAfter("board1", "title 5", 10_000L, Limit.of(21))),
+                query("BoardPostRepository.countByBoardKey", "board_posts_board_key_id_idx",
+                        () -> posts.countByBoardKey("board1")),
+                query("BoardPostRepository.countMatching", "board_posts_board_key_id_idx",
+                        () -> posts.countMatching("board1", "title 5")),
+                query("BoardPostRepository.findByIdAndBoardKey", "board_posts_(pkey|board_key_id_idx)",
+                        () -> posts.findByIdAndBoardKey(5L, "board1")),
+                query("BoardPostRepository.findUpdatedAt", "board_posts_(pkey|board_key_id_idx)",
+                        () -> posts.findUpdatedAt(5L, "board1")),
+                query("BoardPostRepository.findListByIdIn", "board_posts_pkey",
+                        () -> posts.findListByIdIn(List.of(1L, 2L, 3L))),
+                query("BoardPostRepository.findMatchingIds", "board_posts_pkey",
+                        () -> posts.findMatchingIds(List.of(1L, 2L, 3L), "title")),
+                query("BoardPostRepository.incrementViews", "board_posts_(pkey|board_key_id_idx)",
+                        () -> posts.incrementViews("board1", 5L)),
+                query("BoardPostRepository.incrementViewsReturning", "board_posts_(pkey|board_key_id_idx)",
+                        () -> posts.incrementViewsReturning("board1", 5L)),
+                query("ViewCountBuffer.flush", "board_posts_pkey", () -> {
+                    viewCounts.increment(5L);
+                    viewCounts.flush();
+                }),
+                query("AppUserRepository.findByEmail", "app_users_email_key",
+                        () -> users.findByEmail("user5@example.com")),
+                query("RefreshTokenRepository.findTopByTokenHashAndRevokedAtIsNull", "auth_refresh_tokens_live_token_hash_idx",
+                        () -> tokens.findTopByTokenHashAndRevokedAtIsNull(md5("5"))),
+                query("RefreshTokenRepository.rotate", "auth_refresh_tokens_live_token_hash_idx",
+                        () -> tokens.rotate(md5("5"), "new-hash", now.plusDays(1), now)),
+                query("RefreshTokenRepository.deleteByExpiresAtBefore", "auth_refresh_tokens_expires_at_idx",
+                        () -> tokens.deleteByExpiresAtBefore(now)),
+                query("RefreshTokenRepository.purgeBatch", "auth_refresh_tokens_revoked_at_idx",
+                        () -> tokens.purgeBatch(now, now.minusHours(1), 1000))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void usesItsIndex(String query, String expectedIndex, Runnable call) {
+        Captured statement = firstStatementOf(call);
+        String text = String.join("\n", explain(statement));
+        assertFalse(text.contains("Seq Scan"), () -> query + " falls back to a sequential scan:\n" + statement.sql() + "\n" + text);
+        assertTrue(Pattern.compile(expectedIndex).matcher(text).find(),
+                () -> query + " does not use " + expectedIndex + ":\n" + statement.sql() + "\n" + text);
+    }
+
+    private static Arguments query(String name, String expectedIndex, Runnable call) {
+        return Arguments.of(name, expectedIndex, call);
+    }
+
+    // runs the call in a transaction that is rolled back, so every case sees the seeded rows
+    private Captured firstStatementOf(Runnable call) {
+        List<Captured> statements = new ArrayList<>();
+        CapturingDataSource.sink.set(statements::add);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                call.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            CapturingDataSource.sink.remove();
+        }
+        assertFalse(statements.isEmpty(), "no statement was executed");
+        return statements.get(0);
+    }
+
+    private static List<String> explain(Captured statement) {
+        return explainer.query(con -> {
+            PreparedStatement ps = con.prepareStatement("explain " + statement.sql());
+            for (Map.Entry<Integer, Object[]> bind : statement.binds().entrySet()) {
+                Object[] args = bind.getValue();
+                if ("setNull".equals(args[0])) ps.setNull(bind.getKey(), (Integer) args[1]);
+                else ps.setObject(bind.getKey(), args[1]);
+            }
+            return ps;
+        }, (rs, i) -> rs.getString(1));
+    }
+
+    private static String md5(String s) {
+        return explainer.queryForObject("select md5(?)", String.class, s);
+    }
+
+    record Captured(String sql, Map<Integer, Object[]> binds) {}
+
+    // hands each executed statement, with its bind calls, to the current test thread's sink
+    static final class CapturingDataSource extends DelegatingDataSource {
+
+        static final ThreadLocal<Consumer<Captured>> sink = new ThreadLocal<>();
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = obtainTargetDataSource().getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(target, method, args);
+                        if (result instanceof PreparedStatement ps && method.getName().startsWith("prepare")) {
+                            return capturing(ps, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement target, String sql) {
+            Map<Integer, Object[]> binds = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(CapturingDataSource.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            binds.put(index, new Object[]{name, args[1]});
+                        }
+                        Consumer<Captured> out = sink.get();
+                        if (out != null && name.startsWith("execute")) {
+                            out.accept(new Captured(sql, new TreeMap<>(binds)));
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
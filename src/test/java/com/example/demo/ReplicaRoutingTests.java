@@ -0,0 +1,197 @@
+package com.example.demo;
+
+import com.example.demo.common.jdbc.ReplicaLagMonitor;
+import com.example.demo.common.jdbc.ReplicaRouting;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two unrelated Postgres containers stand in for primary and replica. Nothing replicates
+ * between them, so a row seeded only on the "replica" shows which side served a read, and
+ * a post created through the API shows up on the primary only.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.security.oauth2.client.registration.google.client-id=test",
+        "spring.security.oauth2.client.registration.google.client-secret=test",
+        "spring.security.oauth2.client.registration.google.scope=openid",
+        "app.jwt.secret=test-secret-test-secret-test-secret-0123456789",
+        "app.rateLimit.enabled=false",
+        "app.board.popularCheckpointPath=",
+        "app.db.replica.lagCheckIntervalMs=3600000"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+    private static final String REPLICA_ONLY = "replica-only marker";
+
+    @Container
+    static final PostgreSQLContainer primary = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Container
+    static final PostgreSQLContainer replica = new PostgreSQLContainer("postgres:16-alpine");
+
+    static JdbcTemplate primaryJdbc;
+    static JdbcTemplate replicaJdbc;
+
+    @DynamicPropertySource
+    static void dataSources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("app.db.replica.url", replica::getJdbcUrl);
+        registry.add("app.db.replica.username", replica::getUsername);
+        registry.add("app.db.replica.password", replica::getPassword);
+    }
+
+    @BeforeAll
+    static void prepareReplica() {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .load()
+                .migrate();
+        replicaJdbc = new JdbcTemplate(new SingleConnectionDataSource(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword(), true));
+        primaryJdbc = new JdbcTemplate(new SingleConnectionDataSource(
+                primary.getJdbcUrl(), primary.getUsername(), primary.getPassword(), true));
+        replicaJdbc.update("""
+                insert into board_posts (board_key, title, author, content, created_at, updated_at, views)
+                values ('board1', ?, 'guest', 'only on the replica', now(), now(), 0)""", REPLICA_ONLY);
+    }
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ReplicaRouting routing;
+
+    @Autowired
+    ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void replicaUp() throws InterruptedException {
+        replicaCaughtUp();
+        assertTrue(routing.isReplicaUsable());
+    }
+
+    @AfterEach
+    void restore() {
+        lagMonitor.check();
+    }
+
+    @Test
+    void readsGoToReplicaAndWritesToPrimary() throws Exception {
+        assertTrue(list("10.0.0.1").contains(REPLICA_ONLY));
+
+        create("10.0.0.2", "written to primary");
+        assertEquals(1, count(primaryJdbc, "written to primary"));
+        assertEquals(0, count(replicaJdbc, "written to primary"));
+
+        // the stand-in reports no lag, so after a check it counts as caught up with the write
+        replicaCaughtUp();
+        String otherClient = list("10.0.0.3");
+        assertTrue(otherClient.contains(REPLICA_ONLY));
+        assertFalse(otherClient.contains("written to primary"));
+    }
+
+    @Test
+    void writerReadsOwnWriteFromPrimary() throws Exception {
+        create("10.0.0.4", "my own post");
+
+        String writer = list("10.0.0.4");
+        assertTrue(writer.contains("my own post"));
+        assertFalse(writer.contains(REPLICA_ONLY));
+    }
+
+    @Test
+    void listTagIsNotServedFromReplicaBehindIt() throws Exception {
+        MockHttpServletResponse before = listResponse("10.0.0.6", null);
+        assertTrue(before.getContentAsString().contains(REPLICA_ONLY));
+        String oldTag = before.getHeader(HttpHeaders.ETAG);
+
+        create("10.0.0.7", "behind the replica");
+
+        // another client revalidates: the new tag must come with a body that has the write
+        MockHttpServletResponse after = listResponse("10.0.0.6", oldTag);
+        assertEquals(200, after.getStatus());
+        String newTag = after.getHeader(HttpHeaders.ETAG);
+        assertNotEquals(oldTag, newTag);
+        assertTrue(after.getContentAsString().contains("behind the replica"));
+        assertFalse(after.getContentAsString().contains(REPLICA_ONLY));
+        assertEquals(304, listResponse("10.0.0.6", newTag).getStatus());
+
+        replicaCaughtUp();
+        assertTrue(listResponse("10.0.0.6", null).getContentAsString().contains(REPLICA_ONLY));
+    }
+
+    @Test
+    void unusableReplicaFallsBackToPrimary() throws Exception {
+        routing.replicaUsable(false);
+
+        assertFalse(list("10.0.0.5").contains(REPLICA_ONLY));
+    }
+
+    private String list(String clientIp) throws Exception {
+        MockHttpServletResponse response = listResponse(clientIp, null);
+        assertEquals(200, response.getStatus());
+        return response.getContentAsString();
+    }
+
+    private MockHttpServletResponse listResponse(String clientIp, String ifNoneMatch) throws Exception {
+        return mvc.perform(get("/api/boards/board1/posts")
+                        .with(r -> remoteAddr(r, clientIp))
+                        .headers(h -> {
+                            if (ifNoneMatch != null) h.setIfNoneMatch(ifNoneMatch);
+                        }))
+                .andReturn().getResponse();
+    }
+
+    private void replicaCaughtUp() throws InterruptedException {
+        Thread.sleep(5); // the catch-up point is in milliseconds and must pass the write
+        lagMonitor.check();
+    }
+
+    private void create(String clientIp, String title) throws Exception {
+        mvc.perform(post("/api/boards/board1/posts")
+                        .with(r -> remoteAddr(r, clientIp))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "%s", "author": "guest", "content": "hello", "password": "secret123"}""".formatted(title)))
+                .andExpect(status().is2xxSuccessful());
+    }
+
+    private static MockHttpServletRequest remoteAddr(MockHttpServletRequest request, String ip) {
+        request.setRemoteAddr(ip);
+        return request;
+    }
+
+    private static int count(JdbcTemplate jdbc, String title) {
+        return jdbc.queryForObject("select count(*) from board_posts where title = ?", Integer.class, title);
+    }
+}
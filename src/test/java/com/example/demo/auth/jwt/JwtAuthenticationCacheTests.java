@@ -0,0 +1,82 @@
+package com.example.demo.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JwtAuthenticationCacheTests {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret-0123456789";
+
+    // counts full verifications to tell cache hits from misses
+    static class CountingJwtUtil extends JwtUtil {
+        final AtomicInteger parses = new AtomicInteger();
+
+        CountingJwtUtil(long accessTtlSeconds) {
+            super(SECRET, accessTtlSeconds);
+        }
+
+        @Override
+        public Jws<Claims> parse(String token) {
+            parses.incrementAndGet();
+            return super.parse(token);
+        }
+    }
+
+    private final CountingJwtUtil jwt = new CountingJwtUtil(900);
+    private final JwtAuthenticationCache cache = new JwtAuthenticationCache(jwt, new SimpleMeterRegistry(), 100);
+
+    @Test
+    void repeatTokenIsVerifiedOnce() {
+        String token = jwt.createAccessToken(42L, "ADMIN");
+
+        Authentication first = cache.authenticate(token);
+        Authentication second = cache.authenticate(token);
+
+        assertSame(first, second);
+        assertEquals(1, jwt.parses.get());
+        assertEquals("42", first.getPrincipal());
+        assertEquals(List.of("ROLE_ADMIN"),
+                first.getAuthorities().stream().map(a -> a.getAuthority()).toList());
+    }
+
+    @Test
+    void distinctTokensAreCachedSeparately() {
+        Authentication a = cache.authenticate(jwt.createAccessToken(1L, "USER"));
+        Authentication b = cache.authenticate(jwt.createAccessToken(2L, "USER"));
+
+        assertNotSame(a, b);
+        assertEquals("1", a.getPrincipal());
+        assertEquals("2", b.getPrincipal());
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEveryTime() {
+        String token = jwt.createAccessToken(42L, "USER");
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+        assertThrows(JwtException.class, () -> cache.authenticate(tampered));
+        assertEquals(2, jwt.parses.get());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String expired = new JwtUtil(SECRET, -60).createAccessToken(42L, "USER");
+
+        assertThrows(ExpiredJwtException.class, () -> cache.authenticate(expired));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.auth.password;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTests {
+
+    @Test
+    void calibratedCostStaysWithinBounds() {
+        // a fast machine must not calibrate below the minimum
+        assertEquals(BoundedPasswordEncoder.MIN_COST, BoundedPasswordEncoder.calibrateCost(1));
+        assertEquals(BoundedPasswordEncoder.MAX_COST, BoundedPasswordEncoder.calibrateCost(3_600_000));
+    }
+
+    @Test
+    void hashesOnThePool() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, 1, 1, new SimpleMeterRegistry());
+        String hash = encoder.encode("secret123");
+        assertTrue(encoder.matches("secret123", hash));
+        assertFalse(encoder.matches("wrong-password", hash));
+        encoder.destroy();
+    }
+
+    @Test
+    void fullPoolAndQueueRejectWithHashingBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder held = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(4, held, 1, 1, new SimpleMeterRegistry());
+
+        // one caller on the only hashing thread, one in the only queue slot
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        awaitUntil(() -> encoder.getActiveCount() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitUntil(() -> encoder.getQueueSize() == 1);
+
+        assertThrows(HashingBusyException.class, () -> encoder.encode("third"));
+        assertThrows(HashingBusyException.class, () -> encoder.matches("third", "hash:third"));
+
+        release.countDown();
+        assertEquals("hash:first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:second", queued.get(5, TimeUnit.SECONDS));
+        // capacity is back once the backlog drains
+        assertEquals("hash:third", encoder.encode("third"));
+        encoder.destroy();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.auth.repository;
+
+import com.example.demo.auth.entity.AppUser;
+import com.example.demo.auth.entity.RefreshToken;
+import com.example.demo.auth.service.RefreshTokenPurger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.security.oauth2.client.registration.google.client-id=test",
+        "spring.security.oauth2.client.registration.google.client-secret=test",
+        "spring.security.oauth2.client.registration.google.scope=openid",
+        "app.jwt.secret=test-secret-test-secret-test-secret-0123456789",
+        "app.rateLimit.enabled=false",
+        "app.board.popularCheckpointPath="
+})
+class RefreshTokenRotationTests {
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    RefreshTokenRepository tokens;
+
+    @Autowired
+    AppUserRepository users;
+
+    @Autowired
+    RefreshTokenPurger purger;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    Long userId;
+
+    @BeforeEach
+    void user() {
+        jdbc.update("delete from auth_refresh_tokens");
+        AppUser u = new AppUser();
+        u.setEmail("rotate-" + System.nanoTime() + "@example.com");
+        u.setPasswordHash("hash");
+        u.setRole("USER");
+        userId = users.save(u).getId();
+    }
+
+    @Test
+    void concurrentRefreshesRotateOnce() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        tokens.save(new RefreshToken(userId, "old", now.plusDays(1)));
+
+        int clients = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<Optional<RefreshTokenRepository.Rotated>>> results = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            String next = "next-" + i;
+            results.add(pool.submit(() -> {
+                start.await();
+                return tokens.rotate("old", next, now.plusDays(1), now);
+            }));
+        }
+        start.countDown();
+
+        int rotated = 0;
+        for (Future<Optional<RefreshTokenRepository.Rotated>> r : results) {
+            Optional<RefreshTokenRepository.Rotated> result = r.get();
+            if (result.isPresent()) {
+                rotated++;
+                assertEquals(userId, result.get().getUserId());
+                assertEquals("USER", result.get().getRole());
+            }
+        }
+        pool.shutdown();
+
+        assertEquals(1, rotated);
+        assertEquals(1, live());
+        assertTrue(tokens.findTopByTokenHashAndRevokedAtIsNull("old").isEmpty());
+    }
+
+    @Test
+    void expiredOrRevokedTokensDoNotRotate() {
+        LocalDateTime now = LocalDateTime.now();
+        tokens.save(new RefreshToken(userId, "expired", now.minusSeconds(1)));
+        tokens.save(new RefreshToken(userId, "revoked", now.plusDays(1)));
+        revoke("revoked", now);
+
+        assertTrue(tokens.rotate("expired", "a", now.plusDays(1), now).isEmpty());
+        assertTrue(tokens.rotate("revoked", "b", now.plusDays(1), now).isEmpty());
+        assertTrue(tokens.rotate("unknown", "c", now.plusDays(1), now).isEmpty());
+        assertEquals(1, live()); // "expired" is left for the purge, nothing new was issued
+    }
+
+    @Test
+    void purgeDeletesExpiredAndOldRevokedTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        tokens.save(new RefreshToken(userId, "live", now.plusDays(1)));
+        tokens.save(new RefreshToken(userId, "expired", now.minusMinutes(1)));
+        tokens.save(new RefreshToken(userId, "revoked long ago", now.plusDays(1)));
+        tokens.save(new RefreshToken(userId, "just revoked", now.plusDays(1)));
+        // past app.auth.revokedRetentionSeconds (an hour), and well inside it
+        revoke("revoked long ago", now.minusHours(2));
+        revoke("just revoked", now.minusMinutes(1));
+
+        purger.purge();
+
+        assertEquals(List.of("just revoked", "live"),
+                jdbc.queryForList("select token_hash from auth_refresh_tokens order by token_hash", String.class));
+    }
+
+    private void revoke(String tokenHash, LocalDateTime at) {
+        jdbc.update("update auth_refresh_tokens set revoked_at = ? where token_hash = ?", at, tokenHash);
+    }
+
+    private int live() {
+        return jdbc.queryForObject("select count(*) from auth_refresh_tokens where revoked_at is null and user_id = ?",
+                Integer.class, userId);
+    }
+}
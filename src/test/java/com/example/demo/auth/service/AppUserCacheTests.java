@@ -0,0 +1,124 @@
+package com.example.demo.auth.service;
+
+import com.example.demo.auth.entity.AppUser;
+import com.example.demo.auth.repository.AppUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppUserCacheTests {
+
+    // rows live in a map; lookups are counted to tell hits from misses
+    private final Map<Long, AppUser> rows = new HashMap<>();
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final AppUserRepository repository = mock(AppUserRepository.class);
+    private final AppUserCache cache;
+
+    AppUserCacheTests() {
+        when(repository.findById(anyLong())).thenAnswer(inv -> {
+            lookups.incrementAndGet();
+            return Optional.ofNullable(rows.get((Long) inv.getArgument(0))).map(AppUserCacheTests::copy);
+        });
+        when(repository.findByEmail(anyString())).thenAnswer(inv -> {
+            lookups.incrementAndGet();
+            String email = inv.getArgument(0);
+            return rows.values().stream().filter(u -> u.getEmail().equals(email)).findFirst().map(AppUserCacheTests::copy);
+        });
+        when(repository.save(any())).thenAnswer(inv -> {
+            AppUser u = inv.getArgument(0);
+            if (u.getId() == null) u.setId(rows.size() + 1L);
+            rows.put(u.getId(), copy(u));
+            return u;
+        });
+        cache = new AppUserCache(repository, new SimpleMeterRegistry(), 100, 3600);
+    }
+
+    @Test
+    void readsAreCachedByIdAndEmail() {
+        Long id = signup("a@example.com", "Alice");
+
+        assertEquals("Alice", cache.findById(id).orElseThrow().name());
+        assertEquals("Alice", cache.findByEmail("a@example.com").orElseThrow().name());
+        int after = lookups.get();
+        cache.findById(id);
+        cache.findByEmail("a@example.com");
+        assertEquals(after, lookups.get());
+    }
+
+    @Test
+    void missesAreNotCached() {
+        assertTrue(cache.findByEmail("new@example.com").isEmpty());
+        signup("new@example.com", "New");
+        assertEquals("New", cache.findByEmail("new@example.com").orElseThrow().name());
+    }
+
+    @Test
+    void saveEvictsBothKeys() {
+        Long id = signup("b@example.com", "Bob");
+        cache.findByEmail("b@example.com");
+
+        AppUser changed = copy(rows.get(id));
+        changed.setEmail("bob@example.com");
+        changed.setName("Robert");
+        cache.save(changed);
+
+        assertEquals("Robert", cache.findById(id).orElseThrow().name());
+        assertTrue(cache.findByEmail("b@example.com").isEmpty());
+        assertEquals(id, cache.findByEmail("bob@example.com").orElseThrow().id());
+    }
+
+    @Test
+    void passwordHashUpdateIsVisible() {
+        Long id = signup("c@example.com", "Carol");
+        cache.findById(id);
+
+        cache.updatePasswordHash(id, "new-hash");
+
+        assertEquals("new-hash", cache.findById(id).orElseThrow().passwordHash());
+        assertEquals("new-hash", cache.findByEmail("c@example.com").orElseThrow().passwordHash());
+    }
+
+    @Test
+    void evictDropsTheEmailMappingToo() {
+        Long id = signup("d@example.com", "Dan");
+        cache.findByEmail("d@example.com");
+
+        // another node changed the email; only the id entry is evicted here
+        rows.get(id).setEmail("dan@example.com");
+        cache.evict(id);
+
+        assertTrue(cache.findByEmail("d@example.com").isEmpty());
+        assertEquals(id, cache.findByEmail("dan@example.com").orElseThrow().id());
+    }
+
+    private Long signup(String email, String name) {
+        AppUser u = new AppUser();
+        u.setEmail(email);
+        u.setName(name);
+        u.setRole("USER");
+        u.setPasswordHash("hash");
+        return cache.save(u).getId();
+    }
+
+    private static AppUser copy(AppUser u) {
+        AppUser c = new AppUser();
+        c.setId(u.getId());
+        c.setEmail(u.getEmail());
+        c.setName(u.getName());
+        c.setRole(u.getRole());
+        c.setPasswordHash(u.getPasswordHash());
+        return c;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.demo.board.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.security.oauth2.client.registration.google.client-id=test",
+        "spring.security.oauth2.client.registration.google.client-secret=test",
+        "spring.security.oauth2.client.registration.google.scope=openid",
+        "app.jwt.secret=test-secret-test-secret-test-secret-0123456789",
+        "app.rateLimit.enabled=false",
+        "app.board.popularCheckpointPath="
+})
+@AutoConfigureMockMvc
+class BoardPostControllerTests {
+
+    private static final JsonMapper json = JsonMapper.builder().build();
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void listTagIsRevalidatedUntilTheBoardChanges() throws Exception {
+        MockHttpServletResponse first = list("/api/boards/board1/posts", null);
+        String tag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(tag);
+
+        assertEquals(304, list("/api/boards/board1/posts", tag).getStatus());
+        assertEquals(304, list("/api/boards/board1/posts?page=2", tag).getStatus());
+
+        create("board1", "a new post");
+
+        MockHttpServletResponse after = list("/api/boards/board1/posts", tag);
+        assertEquals(200, after.getStatus());
+        assertNotEquals(tag, after.getHeader(HttpHeaders.ETAG));
+        assertTrue(after.getContentAsString().contains("a new post"));
+    }
+
+    @Test
+    void listTagMovesForWritesMadeOnAnotherNode() throws Exception {
+        String tag = list("/api/boards/board1/posts", null).getHeader(HttpHeaders.ETAG);
+
+        // another node's write: the row and its version bump, without any event on this node
+        jdbc.update("""
+                insert into board_posts (id, board_key, title, author, content, created_at, updated_at, views)
+                values (nextval('board_posts_id_seq'), 'board1', 'from another node', 'guest', 'hello', now(), now(), 0)""");
+        jdbc.update("""
+                insert into board_versions (board_key, version, changed_at_millis) values ('board1', 1, 0)
+                on conflict (board_key) do update set version = board_versions.version + 1""");
+
+        MockHttpServletResponse after = list("/api/boards/board1/posts", tag);
+        assertEquals(200, after.getStatus());
+        assertTrue(after.getContentAsString().contains("from another node"));
+    }
+
+    @Test
+    void unknownBoardNeverAnswersNotModified() throws Exception {
+        // a board nobody wrote to yet has the same tag as any other untouched board
+        String tag = list("/api/boards/board2/posts", null).getHeader(HttpHeaders.ETAG);
+
+        int status = list("/api/boards/no-such-board/posts", tag).getStatus();
+        assertTrue(status >= 400, "status " + status);
+    }
+
+    @Test
+    void detailTagFollowsUpdatedAt() throws Exception {
+        long id = create("board1", "detail tag");
+        String path = "/api/boards/board1/posts/" + id;
+
+        MockHttpServletResponse first = mvc.perform(get(path)).andReturn().getResponse();
+        assertEquals(200, first.getStatus());
+        String tag = first.getHeader(HttpHeaders.ETAG);
+
+        assertEquals(304, mvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, tag)).andReturn().getResponse().getStatus());
+
+        Thread.sleep(5); // updated_at is compared in milliseconds
+        assertEquals(200, mvc.perform(put(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "detail tag, edited", "content": "hello", "password": "secret123"}"""))
+                .andReturn().getResponse().getStatus());
+
+        MockHttpServletResponse edited = mvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, tag)).andReturn().getResponse();
+        assertEquals(200, edited.getStatus());
+        assertTrue(edited.getContentAsString().contains("detail tag, edited"));
+    }
+
+    @Test
+    void cursorPagesWalkTheWholeBoardOnce() throws Exception {
+        for (int i = 0; i < 5; i++) create("board1", "cursor " + i);
+        List<Long> all = ids(json.readTree(list("/api/boards/board1/posts?size=50", null).getContentAsString()));
+
+        List<Long> walked = new ArrayList<>();
+        JsonNode page = json.readTree(list("/api/boards/board1/posts?after=" + Long.MAX_VALUE + "&size=2", null).getContentAsString());
+        while (true) {
+            assertTrue(page.get("total").isNull());
+            walked.addAll(ids(page));
+            if (page.get("nextCursor").isNull()) break;
+            long cursor = page.get("nextCursor").asLong();
+            assertEquals(walked.get(walked.size() - 1), cursor);
+            // a post created mid-walk lands before the cursor and must not shift later pages
+            if (walked.size() == 2) create("board1", "cursor late");
+            page = json.readTree(list("/api/boards/board1/posts?after=" + cursor + "&size=2", null).getContentAsString());
+        }
+
+        assertEquals(all, walked);
+    }
+
+    @Test
+    void listItemsCarryEveryListColumn() throws Exception {
+        long id = create("board1", "projection check");
+
+        // offset page, cursor page and search each map their own projection query
+        for (String path : List.of(
+                "/api/boards/board1/posts?size=50",
+                "/api/boards/board1/posts?after=" + Long.MAX_VALUE + "&size=50",
+                "/api/boards/board1/posts?q=projection%20check")) {
+            JsonNode item = null;
+            for (JsonNode candidate : json.readTree(list(path, null).getContentAsString()).get("items")) {
+                if (candidate.get("id").asLong() == id) item = candidate;
+            }
+            assertNotNull(item, path);
+            assertEquals("projection check", item.get("title").asString(), path);
+            assertEquals("guest", item.get("author").asString(), path);
+            assertEquals(0, item.get("views").asLong(), path);
+            assertFalse(item.get("createdAt").isNull(), path);
+            assertFalse(item.get("updatedAt").isNull(), path);
+            assertFalse(item.has("content"), path);
+        }
+    }
+
+    @Test
+    void streamReplaysWhatAReconnectingClientMissed() throws Exception {
+        String path = "/api/boards/board1/posts/stream";
+        MockHttpServletResponse live = mvc.perform(get(path)).andReturn().getResponse();
+        create("board1", "stream one");
+        String firstId = eventId(awaitContent(live, "stream one"), "stream one");
+        create("board1", "stream two");
+        create("board1", "stream three");
+
+        String missed = mvc.perform(get(path).header("Last-Event-ID", firstId)).andReturn().getResponse().getContentAsString();
+        assertFalse(missed.contains("stream one"));
+        assertTrue(missed.indexOf("stream two") >= 0 && missed.indexOf("stream two") < missed.indexOf("stream three"), missed);
+
+        // an id from another process cannot be resumed
+        String stale = mvc.perform(get(path).header("Last-Event-ID", "0:1")).andReturn().getResponse().getContentAsString();
+        assertTrue(stale.contains("event:reset"), stale);
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        List<Long> ids = new ArrayList<>();
+        page.get("items").forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String text) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = response.getContentAsString();
+        while (!content.contains(text) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        assertTrue(content.contains(text), content);
+        return content;
+    }
+
+    private static String eventId(String sse, String text) {
+        for (String event : sse.split("\n\n")) {
+            if (!event.contains(text)) continue;
+            for (String line : event.split("\n")) {
+                if (line.startsWith("id:")) return line.substring(3);
+            }
+        }
+        throw new AssertionError("no event with " + text + " in " + sse);
+    }
+
+    private MockHttpServletResponse list(String path, String ifNoneMatch) throws Exception {
+        return mvc.perform(get(path).headers(h -> {
+            if (ifNoneMatch != null) h.setIfNoneMatch(ifNoneMatch);
+        })).andReturn().getResponse();
+    }
+
+    private long create(String boardKey, String title) throws Exception {
+        MockHttpServletResponse response = mvc.perform(post("/api/boards/" + boardKey + "/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "%s", "author": "guest", "content": "hello", "password": "secret123"}""".formatted(title)))
+                .andReturn().getResponse();
+        assertEquals(200, response.getStatus());
+        return json.readTree(response.getContentAsString()).get("id").asLong();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.board.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// app.board.viewsMode=direct: every read increments the row itself, nothing is buffered
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.security.oauth2.client.registration.google.client-id=test",
+        "spring.security.oauth2.client.registration.google.client-secret=test",
+        "spring.security.oauth2.client.registration.google.scope=openid",
+        "app.jwt.secret=test-secret-test-secret-test-secret-0123456789",
+        "app.rateLimit.enabled=false",
+        "app.board.popularCheckpointPath=",
+        "app.board.viewsMode=direct"
+})
+@AutoConfigureMockMvc
+class BoardPostDirectViewsTests {
+
+    private static final JsonMapper json = JsonMapper.builder().build();
+
+    @Container
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    JdbcTemplate jdbc;
+
+    @Test
+    void eachReadReturnsAndPersistsItsOwnIncrement() throws Exception {
+        long id = create("direct views");
+        String path = "/api/boards/board1/posts/" + id;
+
+        MockHttpServletResponse first = mvc.perform(get(path)).andReturn().getResponse();
+        assertEquals(200, first.getStatus());
+        assertEquals(1, views(first));
+        assertEquals(1, storedViews(id));
+
+        MockHttpServletResponse second = mvc.perform(get(path)).andReturn().getResponse();
+        assertEquals(2, views(second));
+        assertEquals("direct views", json.readTree(second.getContentAsString()).get("title").asString());
+        assertEquals(2, storedViews(id));
+
+        // a revalidated read is still a read
+        String tag = second.getHeader(HttpHeaders.ETAG);
+        assertEquals(304, mvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, tag)).andReturn().getResponse().getStatus());
+        assertEquals(3, storedViews(id));
+    }
+
+    @Test
+    void missingPostIsNotFound() throws Exception {
+        // no row matched, so no view counted and no body
+        assertEquals(404, mvc.perform(get("/api/boards/board1/posts/" + Long.MAX_VALUE)).andReturn().getResponse().getStatus());
+    }
+
+    private static long views(MockHttpServletResponse response) throws Exception {
+        return json.readTree(response.getContentAsString()).get("views").asLong();
+    }
+
+    private long storedViews(long id) {
+        return jdbc.queryForObject("select views from board_posts where id = ?", Long.class, id);
+    }
+
+    private long create(String title) throws Exception {
+        MockHttpServletResponse response = mvc.perform(post("/api/boards/board1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title": "%s", "author": "guest", "content": "hello", "password": "secret123"}""".formatted(title)))
+                .andReturn().getResponse();
+        assertEquals(200, response.getStatus());
+        return json.readTree(response.getContentAsString()).get("id").asLong();
+    }
+}
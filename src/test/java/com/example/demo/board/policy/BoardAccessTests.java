@@ -0,0 +1,78 @@
+package com.example.demo.board.policy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardAccessTests {
+
+    static final BoardPolicies policies = new BoardPolicies(new BoardPolicyProperties(Map.of(
+            "board1", new BoardPolicy(false, false, true, BoardPolicy.OwnerCheck.OWNER),
+            "board2", new BoardPolicy(false, true, false, BoardPolicy.OwnerCheck.OWNER)
+    )));
+    static final AuthorizationManager<RequestAuthorizationContext> access = BoardAccess.manager(policies);
+
+    static final Authentication anonymous = new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+    static final Authentication member = UsernamePasswordAuthenticationToken.authenticated(
+            "7", null, AuthorityUtils.createAuthorityList("ROLE_USER"));
+
+    @Test
+    void anonymousReadOfMembersBoardIsDenied() {
+        assertFalse(granted(anonymous, "GET", "/api/boards/board2/posts/1"));
+        assertTrue(granted(member, "GET", "/api/boards/board2/posts/1"));
+        assertTrue(granted(anonymous, "GET", "/api/boards/board2/posts"));
+        assertTrue(granted(anonymous, "GET", "/api/boards/board1/posts/1"));
+    }
+
+    @Test
+    void encodedBoardKeyIsDecodedBeforeTheCheck() {
+        assertFalse(granted(anonymous, "GET", "/api/boards/%62oard2/posts/1"));
+        assertFalse(granted(anonymous, "GET", "/api/boards/board%32/posts/1"));
+        assertTrue(granted(member, "GET", "/api/boards/%62oard2/posts/1"));
+    }
+
+    @Test
+    void unknownBoardsAndOtherPathsAreDenied() {
+        assertFalse(granted(anonymous, "GET", "/api/boards/board3/posts"));
+        assertFalse(granted(member, "GET", "/api/boards/board3/posts/1"));
+        assertFalse(granted(member, "GET", "/api/boards/board1"));
+    }
+
+    @Test
+    void subResourcesMapToActions() {
+        assertTrue(granted(anonymous, "GET", "/api/boards/board2/posts/stream"));
+        assertTrue(granted(anonymous, "GET", "/api/boards/board2/posts/popular"));
+        assertFalse(granted(anonymous, "POST", "/api/boards/board2/posts"));
+        assertTrue(granted(anonymous, "POST", "/api/boards/board1/posts"));
+    }
+
+    @Test
+    void requestPathIsRelativeToContextAndDecoded() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/boards/%62oard1/posts/42");
+        request.setContextPath("/app");
+        BoardRequestPath path = BoardRequestPath.of(request);
+        assertEquals(new BoardRequestPath("board1", "42"), path);
+
+        assertEquals(new BoardRequestPath("board1", null),
+                BoardRequestPath.of(new MockHttpServletRequest("GET", "/api/boards/board1/posts")));
+        assertNull(BoardRequestPath.of(new MockHttpServletRequest("GET", "/api/admin/slow-queries")));
+    }
+
+    private static boolean granted(Authentication auth, String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        return access.authorize(() -> auth, new RequestAuthorizationContext(request)).isGranted();
+    }
+}
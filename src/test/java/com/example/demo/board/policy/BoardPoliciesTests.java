@@ -0,0 +1,72 @@
+package com.example.demo.board.policy;
+
+import com.example.demo.board.policy.BoardPolicies.Action;
+import com.example.demo.board.policy.BoardPolicies.Decision;
+import com.example.demo.board.policy.BoardPolicies.PostKind;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardPoliciesTests {
+
+    // the two boards from application.properties, plus an open members board
+    static final BoardPolicies policies = new BoardPolicies(new BoardPolicyProperties(Map.of(
+            "board1", new BoardPolicy(false, false, true, BoardPolicy.OwnerCheck.OWNER),
+            "board2", new BoardPolicy(false, true, false, BoardPolicy.OwnerCheck.OWNER),
+            "wiki", new BoardPolicy(true, true, false, BoardPolicy.OwnerCheck.ANY_MEMBER)
+    )));
+
+    @Test
+    void guestBoard() {
+        assertEquals(Decision.ALLOW, policies.decide("board1", Action.LIST, false, PostKind.NONE));
+        assertEquals(Decision.ALLOW, policies.decide("board1", Action.READ, false, PostKind.NONE));
+        assertEquals(Decision.NEW_PASSWORD, policies.decide("board1", Action.CREATE, false, PostKind.NONE));
+        assertEquals(Decision.ALLOW, policies.decide("board1", Action.CREATE, true, PostKind.NONE));
+        assertEquals(Decision.POST_PASSWORD, policies.decide("board1", Action.UPDATE, false, PostKind.GUEST));
+        assertEquals(Decision.POST_PASSWORD, policies.decide("board1", Action.DELETE, true, PostKind.GUEST));
+        assertEquals(Decision.LOGIN_REQUIRED, policies.decide("board1", Action.UPDATE, false, PostKind.MEMBER));
+        assertEquals(Decision.OWNER, policies.decide("board1", Action.DELETE, true, PostKind.MEMBER));
+    }
+
+    @Test
+    void membersBoard() {
+        assertEquals(Decision.ALLOW, policies.decide("board2", Action.LIST, false, PostKind.NONE));
+        assertEquals(Decision.LOGIN_REQUIRED, policies.decide("board2", Action.READ, false, PostKind.NONE));
+        assertEquals(Decision.ALLOW, policies.decide("board2", Action.READ, true, PostKind.NONE));
+        assertEquals(Decision.LOGIN_REQUIRED, policies.decide("board2", Action.CREATE, false, PostKind.NONE));
+        assertEquals(Decision.LOGIN_REQUIRED, policies.decide("board2", Action.UPDATE, false, PostKind.GUEST));
+        assertEquals(Decision.OWNER, policies.decide("board2", Action.UPDATE, true, PostKind.GUEST));
+        assertEquals(Decision.OWNER, policies.decide("board2", Action.UPDATE, true, PostKind.MEMBER));
+    }
+
+    @Test
+    void anyMemberMayEdit() {
+        assertEquals(Decision.LOGIN_REQUIRED, policies.decide("wiki", Action.LIST, false, PostKind.NONE));
+        assertEquals(Decision.ALLOW, policies.decide("wiki", Action.UPDATE, true, PostKind.MEMBER));
+        assertEquals(Decision.ALLOW, policies.decide("wiki", Action.DELETE, true, PostKind.MEMBER));
+    }
+
+    @Test
+    void requiresLoginOnlyWhenEveryPostKindDoes() {
+        assertFalse(policies.requiresLogin("board1", Action.UPDATE)); // guest posts open with a password
+        assertTrue(policies.requiresLogin("board2", Action.READ));
+        assertTrue(policies.requiresLogin("board2", Action.UPDATE));
+        assertFalse(policies.requiresLogin("board2", Action.LIST));
+    }
+
+    @Test
+    void unknownBoards() {
+        assertFalse(policies.exists("board3"));
+        assertFalse(policies.exists(null));
+        assertTrue(policies.requiresLogin("board3", Action.LIST));
+        assertTrue(policies.requiresLogin("%62oard2", Action.READ));
+        assertThrows(EntityNotFoundException.class, () -> policies.decide("board3", Action.LIST, true, PostKind.NONE));
+        assertThrows(EntityNotFoundException.class, () -> policies.requireBoard(null));
+    }
+}
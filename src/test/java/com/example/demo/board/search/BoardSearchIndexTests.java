@@ -0,0 +1,149 @@
+package com.example.demo.board.search;
+
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.repository.BoardPostRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoardSearchIndexTests {
+
+    // the scan fails as often as asked, then finds no rows
+    static final class FlakyJdbc extends JdbcTemplate {
+        final AtomicInteger failures;
+
+        FlakyJdbc(int failures) {
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public void query(PreparedStatementCreator psc, RowCallbackHandler rch) {
+            if (failures.getAndDecrement() > 0) throw new DataAccessResourceFailureException("connection refused");
+        }
+    }
+
+    static final PlatformTransactionManager noTx = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    private final BoardPostRepository repository = mock(BoardPostRepository.class);
+    private final List<Collection<Long>> rechecks = new ArrayList<>();
+
+    private BoardSearchIndex index(int scanFailures, int maxRecheck) {
+        return index(scanFailures, maxRecheck, 1_000_000);
+    }
+
+    private BoardSearchIndex index(int scanFailures, int maxRecheck, long maxEntries) {
+        // every candidate passes the LIKE recheck
+        when(repository.findMatchingIds(any(), anyString())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            rechecks.add(ids);
+            return List.copyOf(ids);
+        });
+        return new BoardSearchIndex(repository, new FlakyJdbc(scanFailures), noTx, true, maxRecheck, 10, maxEntries);
+    }
+
+    @Test
+    void failedBuildStaysOnTheLikePathAndStopsTracking() {
+        BoardSearchIndex search = index(1, 5000);
+
+        assertFalse(search.build());
+        assertFalse(search.isReady());
+        assertFalse(search.isBuilding());
+        assertNull(search.search("board1", "hello", null, 0, 20, false));
+
+        assertTrue(search.build());
+        assertTrue(search.isReady());
+    }
+
+    @Test
+    void retriesUntilTheScanSucceeds() {
+        BoardSearchIndex search = index(3, 5000);
+        search.buildUntilReady();
+        assertTrue(search.isReady());
+    }
+
+    @Test
+    void pagesNewestFirstAndCountsMatches() {
+        BoardSearchIndex search = index(0, 5000);
+        search.build();
+        for (long id = 1; id <= 30; id++) post(search, id, "hello " + id);
+
+        BoardSearchIndex.SearchHits first = search.search("board1", "hello", null, 0, 10, false);
+        assertEquals(30L, first.ids().get(0));
+        assertEquals(10, first.ids().size());
+        assertTrue(first.hasNext());
+
+        BoardSearchIndex.SearchHits after = search.search("board1", "hello", 5L, 0, 10, false);
+        assertEquals(List.of(4L, 3L, 2L, 1L), after.ids());
+        assertFalse(after.hasNext());
+
+        assertEquals(30L, search.countMatches("board1", "HELLO"));
+    }
+
+    @Test
+    void tooManyCandidatesFallBackToLike() {
+        BoardSearchIndex search = index(0, 20);
+        search.build();
+        for (long id = 1; id <= 30; id++) post(search, id, "hello " + id);
+
+        assertNull(search.countMatches("board1", "hello"));
+        assertTrue(rechecks.isEmpty());
+        // a first page is found long before the cap
+        assertEquals(10, search.search("board1", "hello", null, 0, 10, false).ids().size());
+    }
+
+    @Test
+    void outgrowingTheBoundFallsBackToLikeForGood() {
+        BoardSearchIndex search = index(0, 5000, 50);
+        search.build();
+        post(search, 1, "hello");
+        assertTrue(search.isReady());
+
+        // each "hello N" adds about seven bigrams, so this passes 50 entries
+        for (long id = 2; id <= 30; id++) post(search, id, "hello " + id);
+
+        assertFalse(search.isReady());
+        assertNull(search.search("board1", "hello", null, 0, 10, false));
+        assertTrue(search.build());
+        assertFalse(search.isReady());
+    }
+
+    private static void post(BoardSearchIndex search, long id, String title) {
+        BoardPost p = new BoardPost("board1", title, "author", "");
+        p.setId(id);
+        search.onPostChanged(new BoardPostChangedEvent(BoardPostChangedEvent.Type.CREATED, p));
+    }
+}
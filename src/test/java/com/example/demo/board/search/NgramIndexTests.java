@@ -0,0 +1,78 @@
+package com.example.demo.board.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NgramIndexTests {
+
+    @Test
+    void candidatesContainEveryBigramNewestFirst() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "주민센터 직원이 친절해요");
+        index.put(2, "공원 청소 봉사");
+        index.put(3, "친절한 주민센터");
+        index.put(4, "센터 주민");
+
+        assertArrayEquals(new long[]{3, 1}, index.candidates("주민센터"));
+        assertArrayEquals(new long[]{3, 1}, index.candidates("친절"));
+        assertArrayEquals(new long[0], index.candidates("도서관"));
+    }
+
+    @Test
+    void candidatesAreASupersetThatTheRecheckNarrows() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "abc");
+        index.put(2, "ab bc");
+        // both have "ab" and "bc", only 1 contains "abc"
+        assertArrayEquals(new long[]{2, 1}, index.candidates("abc"));
+    }
+
+    @Test
+    void caseFoldingMatchesOnBothSides() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "Great SERVICE");
+        index.put(2, "ΟΔΟΣ");
+
+        assertArrayEquals(new long[]{1}, index.candidates("great service"));
+        assertArrayEquals(new long[]{1}, index.candidates("GrEaT"));
+        // per-code-point folding: a trailing capital sigma becomes σ, not the final form ς
+        assertEquals("οδοσ", NgramIndex.normalize("ΟΔΟΣ"));
+        assertArrayEquals(new long[]{2}, index.candidates("οδοσ"));
+        // U+0130 folds to a single char, so text length and bigram positions stay put
+        assertEquals(1, NgramIndex.normalize("İ").length());
+    }
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "volunteer");
+        index.put(1, "park clean");
+        assertArrayEquals(new long[0], index.candidates("volunteer"));
+        assertArrayEquals(new long[]{1}, index.candidates("park"));
+
+        index.remove(1);
+        assertArrayEquals(new long[0], index.candidates("park"));
+        assertEquals(0, index.documentCount());
+    }
+
+    @Test
+    void outOfOrderIdsStaySorted() {
+        NgramIndex index = new NgramIndex();
+        index.put(10, "hello");
+        index.put(3, "hello");
+        index.put(7, "hello");
+        index.put(7, "hello");
+        assertArrayEquals(new long[]{10, 7, 3}, index.candidates("hello"));
+    }
+
+    @Test
+    void tooShortQueries() {
+        NgramIndex index = new NgramIndex();
+        index.put(1, "a");
+        assertNull(index.candidates("a"));
+        assertNull(index.candidates(""));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.board.service;
+
+import com.example.demo.common.jdbc.ReplicaRouting;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// list tags live in the database; BoardPostControllerTests covers them
+class BoardETagsTests {
+
+    private final BoardETags etags = new BoardETags(new JdbcTemplate(), new ReplicaRouting("", 0));
+
+    @Test
+    void detailTagFollowsUpdatedAt() {
+        LocalDateTime t = LocalDateTime.of(2024, 5, 1, 12, 0);
+        assertEquals(etags.detailETag(1L, t), etags.detailETag(1L, t));
+        assertNotEquals(etags.detailETag(1L, t), etags.detailETag(1L, t.plusNanos(1_000_000)));
+        assertNotEquals(etags.detailETag(1L, t), etags.detailETag(2L, t));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.dto.BoardPostImportResult;
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostsImportedEvent;
+import com.example.demo.board.policy.BoardPolicies;
+import com.example.demo.board.policy.BoardPolicy;
+import com.example.demo.board.policy.BoardPolicyProperties;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoardPostBulkServiceTests {
+
+    private static final String HASH = "$2a$12$" + "a".repeat(53);
+
+    // user 7 exists; inserts hand out ids instead of talking to a database
+    static final class FakeJdbc extends JdbcTemplate {
+        final List<Integer> batches = new ArrayList<>();
+        long nextId = 1;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> query(PreparedStatementCreator psc, RowMapper<T> rowMapper) {
+            return (List<T>) List.of(7L);
+        }
+
+        @Override
+        public int[] batchUpdate(PreparedStatementCreator psc, BatchPreparedStatementSetter pss, KeyHolder keys) {
+            int n = pss.getBatchSize();
+            batches.add(n);
+            for (int i = 0; i < n; i++) keys.getKeyList().add(Map.of("id", nextId++));
+            return new int[n];
+        }
+    }
+
+    static final PlatformTransactionManager noTx = new PlatformTransactionManager() {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    };
+
+    private final FakeJdbc jdbc = new FakeJdbc();
+    private final List<BoardPost> imported = new ArrayList<>();
+    private final ApplicationEventPublisher events = e -> imported.addAll(((BoardPostsImportedEvent) e).posts());
+
+    private final BoardPostBulkService service = new BoardPostBulkService(
+            jdbc,
+            JsonMapper.builder().build(),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new ViewCountBuffer(new JdbcTemplate(), 500, "buffered"),
+            events,
+            new BoardPolicies(new BoardPolicyProperties(Map.of(
+                    "board1", new BoardPolicy(false, false, true, BoardPolicy.OwnerCheck.OWNER)))),
+            noTx,
+            2
+    );
+
+    @Test
+    void badRowsAreReportedAndTheRestImported() throws IOException {
+        BoardPostImportResult result = importLines(
+                """
+                {"title": "ok", "content": "c", "passwordHash": "%1$s"}
+                {"title": "", "content": "c", "passwordHash": "%1$s"}
+                not json
+
+                {"title": "plain", "content": "c", "password": "secret123"}
+                {"title": "bad hash", "content": "c", "passwordHash": "plain-text"}
+                {"title": "no hash", "content": "c"}
+                {"title": "unknown member", "content": "c", "authorUserId": 99}
+                {"title": "member", "content": "c", "authorUserId": 7}
+                """.formatted(HASH));
+
+        assertEquals(2, result.getImported());
+        assertEquals(6, result.getRejected());
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L, 8L),
+                result.getErrors().stream().map(BoardPostImportResult.Rejection::getLine).toList());
+        assertEquals("password is not accepted on import; supply passwordHash", result.getErrors().get(2).getMessage());
+        assertEquals("passwordHash must be a BCrypt hash", result.getErrors().get(3).getMessage());
+        assertEquals("passwordHash is required for guest posts", result.getErrors().get(4).getMessage());
+        assertEquals("authorUserId 99 does not exist", result.getErrors().get(5).getMessage());
+
+        assertEquals(List.of("ok", "member"), imported.stream().map(BoardPost::getTitle).toList());
+        assertEquals(List.of(1L, 2L), imported.stream().map(BoardPost::getId).toList());
+        assertEquals(HASH, imported.get(0).getPasswordHash());
+    }
+
+    @Test
+    void batchLeftEmptyByRejectionsIsSkipped() throws IOException {
+        BoardPostImportResult result = importLines("""
+                {"title": "a", "content": "c", "authorUserId": 98}
+                {"title": "b", "content": "c", "authorUserId": 99}
+                """);
+
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of(), jdbc.batches);
+    }
+
+    private BoardPostImportResult importLines(String ndjson) throws IOException {
+        return service.importRows("board1", new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+}
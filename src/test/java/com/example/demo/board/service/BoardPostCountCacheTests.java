@@ -0,0 +1,102 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import com.example.demo.board.event.BoardPostsImportedEvent;
+import com.example.demo.board.repository.BoardPostRepository;
+import com.example.demo.common.jdbc.ReplicaRouting;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoardPostCountCacheTests {
+
+    // the "table": post totals per board, with count(*) calls counted
+    private final Map<String, Long> rows = new HashMap<>();
+    private final AtomicInteger counts = new AtomicInteger();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final BoardPostCountCache cache;
+
+    BoardPostCountCacheTests() {
+        BoardPostRepository repository = mock(BoardPostRepository.class);
+        when(repository.countByBoardKey(anyString())).thenAnswer(inv -> {
+            counts.incrementAndGet();
+            return rows.getOrDefault((String) inv.getArgument(0), 0L);
+        });
+        cache = new BoardPostCountCache(repository, new ReplicaRouting("", 0), meters, 60);
+    }
+
+    @Test
+    void boardTotalIsCountedOnceThenKeptByEvents() {
+        rows.put("free", 10L);
+
+        assertEquals(10, cache.boardTotal("free"));
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.CREATED, "free"));
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.CREATED, "free"));
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.DELETED, "free"));
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.UPDATED, "free"));
+        cache.onPostsImported(new BoardPostsImportedEvent("free", List.of(post("free"), post("free"))));
+
+        assertEquals(13, cache.boardTotal("free"));
+        assertEquals(1, counts.get());
+    }
+
+    @Test
+    void eventsForUnloadedBoardsAreIgnored() {
+        rows.put("qna", 4L);
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.CREATED, "qna"));
+
+        // the first read counts the table, which already includes that post
+        assertEquals(4, cache.boardTotal("qna"));
+    }
+
+    @Test
+    void reconcileReplacesDriftedTotalAndRecordsIt() {
+        rows.put("free", 10L);
+        cache.boardTotal("free");
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.CREATED, "free"));
+        // the write never reached the table, e.g. a delete made outside the service
+        rows.put("free", 9L);
+
+        cache.reconcile();
+
+        assertEquals(9, cache.boardTotal("free"));
+        assertEquals(2, meters.get("board.posts.count.drift").tag("board", "free").gauge().value());
+        assertEquals(2, meters.get("board.posts.count.drift.total").counter().count());
+    }
+
+    @Test
+    void searchTotalsAreCachedCaseInsensitivelyUntilTheBoardChanges() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(3, cache.searchTotal("free", "Spring", () -> (long) loads.incrementAndGet() + 2));
+        assertEquals(3, cache.searchTotal("free", "SPRING", () -> (long) loads.incrementAndGet() + 2));
+        assertEquals(1, loads.get());
+
+        // another board's write leaves the entry alone
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.UPDATED, "qna"));
+        cache.searchTotal("free", "spring", () -> (long) loads.incrementAndGet() + 2);
+        assertEquals(1, loads.get());
+
+        cache.onPostChanged(event(BoardPostChangedEvent.Type.UPDATED, "free"));
+        assertEquals(4, cache.searchTotal("free", "spring", () -> (long) loads.incrementAndGet() + 2));
+        assertEquals(2, loads.get());
+    }
+
+    private static BoardPostChangedEvent event(BoardPostChangedEvent.Type type, String boardKey) {
+        return new BoardPostChangedEvent(type, post(boardKey));
+    }
+
+    private static BoardPost post(String boardKey) {
+        return new BoardPost(boardKey, "title", "guest", "content");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.dto.BoardPostDetailResponse;
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BoardPostDetailCacheTests {
+
+    private final ViewCountBuffer viewCounts = new ViewCountBuffer(new ViewCountBufferTests.RecordingJdbc(), 500, "buffered");
+    private final BoardPostDetailCache cache = new BoardPostDetailCache(viewCounts, new SimpleMeterRegistry(), 1 << 20, 600);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void loadsOnce() {
+        cache.get(1L, () -> detail(1L, 5));
+        cache.get(1L, () -> detail(1L, 5));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void flushesNeitherEvictNorShiftTheTotal() {
+        viewCounts.increment(1L);
+        viewCounts.increment(1L);
+        // the row says 10, two more are still pending here
+        assertEquals(12, cache.get(1L, () -> detail(1L, 10)).getViews());
+
+        // the row now says 12 and nothing is pending; the entry is not reloaded
+        viewCounts.flush();
+        assertEquals(12, cache.get(1L, () -> detail(1L, 12)).getViews());
+
+        viewCounts.increment(1L);
+        cache.recordView(1L);
+        assertEquals(13, cache.get(1L, () -> detail(1L, 12)).getViews());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadThatRacedAFlushIsServedButNotKept() {
+        viewCounts.increment(1L);
+
+        // the flush lands between the row read and pendingFor: the row is from before it
+        BoardPostDetailResponse raced = cache.get(1L, () -> {
+            BoardPostDetailResponse row = detail(1L, 10);
+            viewCounts.flush();
+            return row;
+        });
+        assertEquals(10, raced.getViews());
+        assertNull(cache.getIfPresent(1L));
+
+        assertEquals(11, cache.get(1L, () -> detail(1L, 11)).getViews());
+        assertEquals(11, cache.getIfPresent(1L).getViews());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void viewsOfUncachedPostsAreNotRecorded() {
+        cache.recordView(1L);
+        assertEquals(5, cache.get(1L, () -> detail(1L, 5)).getViews());
+    }
+
+    @Test
+    void changedPostsAreReloaded() {
+        cache.get(1L, () -> detail(1L, 5));
+        BoardPost p = new BoardPost("board1", "title", "author", "content");
+        p.setId(1L);
+
+        cache.onPostChanged(new BoardPostChangedEvent(BoardPostChangedEvent.Type.UPDATED, p));
+
+        assertNull(cache.getIfPresent(1L));
+        cache.get(1L, () -> detail(1L, 5));
+        assertEquals(2, loads.get());
+    }
+
+    private BoardPostDetailResponse detail(Long id, long views) {
+        loads.incrementAndGet();
+        LocalDateTime now = LocalDateTime.now();
+        return new BoardPostDetailResponse(id, "board1", "title", "author", "content", now, now, views, null);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.dto.BoardPostListResponse;
+import com.example.demo.board.repository.BoardPostListView;
+import com.example.demo.board.repository.BoardPostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BoardPostPopularityTests {
+
+    @TempDir
+    Path dir;
+
+    private final BoardPostRepository repository = mock(BoardPostRepository.class);
+    private final ViewCountBuffer viewCounts = new ViewCountBuffer(new JdbcTemplate(), 500, "buffered");
+
+    BoardPostPopularityTests() {
+        when(repository.findListByIdIn(any())).thenAnswer(inv -> {
+            Collection<Long> ids = inv.getArgument(0);
+            return ids.stream().map(BoardPostPopularityTests::view).toList();
+        });
+    }
+
+    private BoardPostPopularity popularity(long halfLifeMinutes, Path checkpoint) {
+        BoardPostPopularity p = new BoardPostPopularity(repository, viewCounts, halfLifeMinutes, 10,
+                checkpoint == null ? "" : checkpoint.toString());
+        p.restore();
+        return p;
+    }
+
+    @Test
+    void mostViewedFirst() {
+        BoardPostPopularity p = popularity(360, null);
+        for (int i = 0; i < 3; i++) p.recordView("board1", 1L);
+        for (int i = 0; i < 5; i++) p.recordView("board1", 2L);
+        p.recordView("board1", 3L);
+        p.recordView("board2", 4L);
+
+        p.refresh();
+
+        assertEquals(List.of(2L, 1L, 3L), ids(p.top("board1", 10)));
+        assertEquals(List.of(2L, 1L), ids(p.top("board1", 2)));
+        assertEquals(List.of(4L), ids(p.top("board2", 10)));
+    }
+
+    @Test
+    void checkpointRestoresScores() {
+        Path file = dir.resolve("popular.bin");
+        BoardPostPopularity before = popularity(360, file);
+        views(before, 1L, 2);
+        views(before, 2L, 4);
+        before.checkpoint();
+        assertTrue(Files.exists(file));
+
+        BoardPostPopularity after = popularity(360, file);
+        after.refresh();
+        assertEquals(List.of(2L, 1L), ids(after.top("board1", 10)));
+
+        // restored scores keep adding up with new views
+        views(after, 1L, 3);
+        after.refresh();
+        assertEquals(List.of(1L, 2L), ids(after.top("board1", 10)));
+    }
+
+    @Test
+    void oldViewsDecayAndArePruned() throws IOException {
+        // one view per post at a landmark an hour ago; with a one-minute half-life that
+        // is 60 half-lives, far below the pruning floor, and past the rebase threshold
+        Path file = dir.resolve("popular.bin");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(1);
+            out.writeLong(System.currentTimeMillis() - 3_600_000);
+            out.writeInt(1);
+            out.writeUTF("board1");
+            out.writeInt(2);
+            out.writeLong(1L);
+            out.writeDouble(100);
+            out.writeLong(2L);
+            out.writeDouble(1);
+        }
+
+        BoardPostPopularity p = popularity(1, file);
+        p.recordView("board1", 3L);
+        p.refresh();
+
+        assertEquals(List.of(3L), ids(p.top("board1", 10)));
+
+        // after the rebase a new view still weighs about one
+        views(p, 4L, 2);
+        p.refresh();
+        assertEquals(List.of(4L, 3L), ids(p.top("board1", 10)));
+    }
+
+    @Test
+    void unreadableCheckpointStartsEmpty() throws IOException {
+        Path file = dir.resolve("popular.bin");
+        Files.write(file, new byte[]{0, 0, 0, 1, 0});
+
+        BoardPostPopularity p = popularity(360, file);
+        p.refresh();
+
+        assertTrue(p.top("board1", 10).isEmpty());
+    }
+
+    private static void views(BoardPostPopularity popularity, long postId, int views) {
+        for (int i = 0; i < views; i++) popularity.recordView("board1", postId);
+    }
+
+    private static List<Long> ids(List<BoardPostListResponse.Item> items) {
+        return items.stream().map(BoardPostListResponse.Item::getId).toList();
+    }
+
+    private static BoardPostListView view(long id) {
+        LocalDateTime at = LocalDateTime.of(2024, 1, 1, 0, 0);
+        return new BoardPostListView() {
+            public Long getId() { return id; }
+            public String getTitle() { return "post " + id; }
+            public String getAuthor() { return "author"; }
+            public LocalDateTime getCreatedAt() { return at; }
+            public LocalDateTime getUpdatedAt() { return at; }
+            public Long getViews() { return 0L; }
+        };
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.demo.board.service;
+
+import com.example.demo.board.entity.BoardPost;
+import com.example.demo.board.event.BoardPostChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ViewCountBufferTests {
+
+    // records batches instead of talking to a database
+    static final class RecordingJdbc extends JdbcTemplate {
+        final List<List<Object[]>> batches = new ArrayList<>();
+        Runnable duringUpdate = () -> {};
+        int rowsPerUpdate = 1;
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            batches.add(List.copyOf(batchArgs));
+            duringUpdate.run();
+            int[] counts = new int[batchArgs.size()];
+            Arrays.fill(counts, rowsPerUpdate);
+            return counts;
+        }
+    }
+
+    private final RecordingJdbc jdbc = new RecordingJdbc();
+
+    @Test
+    void pendingViewsAreFlushedAsDeltas() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 500, "buffered");
+        buffer.increment(1L);
+        buffer.increment(1L);
+        buffer.increment(2L);
+        assertEquals(2, buffer.pendingFor(1L));
+
+        buffer.flush();
+
+        assertEquals(1, jdbc.batches.size());
+        assertEquals(Map.of(1L, 2L, 2L, 1L), deltas(0));
+        assertEquals(0, buffer.pendingFor(1L));
+        assertEquals(0, buffer.pendingFor(2L));
+    }
+
+    @Test
+    void viewsCountedDuringTheUpdateStayPending() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 500, "buffered");
+        buffer.increment(1L);
+        jdbc.duringUpdate = () -> buffer.increment(1L);
+
+        buffer.flush();
+
+        assertEquals(Map.of(1L, 1L), deltas(0));
+        assertEquals(1, buffer.pendingFor(1L));
+
+        jdbc.duringUpdate = () -> {};
+        buffer.flush();
+        assertEquals(Map.of(1L, 1L), deltas(1));
+        assertEquals(0, buffer.pendingFor(1L));
+    }
+
+    @Test
+    void flushesInBatchesAndSkipsIdlePosts() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 2, "buffered");
+        for (long id = 1; id <= 5; id++) buffer.increment(id);
+
+        buffer.flush();
+        assertEquals(3, jdbc.batches.size());
+
+        buffer.flush(); // nothing pending: no statement at all
+        assertEquals(3, jdbc.batches.size());
+    }
+
+    @Test
+    void discardDropsPendingViews() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 500, "buffered");
+        buffer.increment(1L);
+        buffer.discard(1L);
+        buffer.flush();
+        assertTrue(jdbc.batches.isEmpty());
+    }
+
+    @Test
+    void viewsOfACommittedDeleteAreDiscarded() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 500, "buffered");
+        BoardPost post = new BoardPost("board1", "title", "guest", "content");
+        post.setId(1L);
+        buffer.increment(post.getId());
+        buffer.onPostChanged(new BoardPostChangedEvent(BoardPostChangedEvent.Type.UPDATED, post));
+        assertEquals(1, buffer.pendingFor(post.getId()));
+
+        buffer.onPostChanged(new BoardPostChangedEvent(BoardPostChangedEvent.Type.DELETED, post));
+        assertEquals(0, buffer.pendingFor(post.getId()));
+    }
+
+    @Test
+    void failedWriteKeepsTheDeltas() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 500, "buffered");
+        buffer.increment(1L);
+        jdbc.duringUpdate = () -> {
+            buffer.increment(1L);
+            throw new DataAccessResourceFailureException("down");
+        };
+
+        assertThrows(DataAccessResourceFailureException.class, buffer::flush);
+        assertEquals(2, buffer.pendingFor(1L));
+        assertEquals(0, buffer.flushGeneration() % 2);
+
+        jdbc.duringUpdate = () -> {};
+        buffer.flush();
+        assertEquals(Map.of(1L, 2L), deltas(1));
+    }
+
+    @Test
+    void postsWithoutARowAreDropped() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 500, "buffered");
+        buffer.increment(1L);
+        jdbc.rowsPerUpdate = 0;
+
+        buffer.flush();
+        buffer.flush();
+
+        assertEquals(1, jdbc.batches.size());
+        assertEquals(0, buffer.pendingFor(1L));
+    }
+
+    @Test
+    void viewsModeIsValidated() {
+        assertTrue(new ViewCountBuffer(jdbc, 500, "buffered").isBuffered());
+        assertFalse(new ViewCountBuffer(jdbc, 500, "direct").isBuffered());
+        assertThrows(IllegalArgumentException.class, () -> new ViewCountBuffer(jdbc, 500, "other"));
+    }
+
+    @Test
+    void generationIsOddWhileAFlushRuns() {
+        ViewCountBuffer buffer = new ViewCountBuffer(jdbc, 500, "buffered");
+        buffer.increment(1L);
+        List<Long> during = new ArrayList<>();
+        jdbc.duringUpdate = () -> during.add(buffer.flushGeneration());
+
+        buffer.flush();
+
+        assertEquals(List.of(1L), during);
+        assertEquals(2, buffer.flushGeneration());
+    }
+
+    // the (delta, id) rows of one written batch
+    private Map<Long, Long> deltas(int batch) {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Object[] row : jdbc.batches.get(batch)) deltas.put((Long) row[1], (Long) row[0]);
+        return deltas;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.common;
+
+import com.example.demo.auth.password.HashingBusyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTests {
+
+    @Test
+    void busyHashingIsTooManyRequestsWithRetryAfter() {
+        MockHttpServletRequest req = new MockHttpServletRequest("POST", "/api/auth/login");
+
+        ResponseEntity<GlobalExceptionHandler.ApiError> response =
+                new GlobalExceptionHandler().busy(new HashingBusyException(), req);
+
+        assertEquals(429, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("TOO_MANY_REQUESTS", response.getBody().error());
+        assertEquals("/api/auth/login", response.getBody().path());
+    }
+}
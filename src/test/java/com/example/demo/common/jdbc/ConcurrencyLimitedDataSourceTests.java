@@ -0,0 +1,136 @@
+package com.example.demo.common.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitedDataSourceTests {
+
+    // hands out fake connections; close() and getConnection() fail when asked to
+    static final class FakeDataSource extends AbstractDataSource {
+        final AtomicInteger closed = new AtomicInteger();
+        volatile boolean failOnClose;
+        volatile boolean failOnConnect;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failOnConnect) throw new SQLException("connection refused");
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "close" -> {
+                            closed.incrementAndGet();
+                            if (failOnClose) throw new SQLException("socket closed");
+                            yield null;
+                        }
+                        case "isClosed" -> false;
+                        default -> null;
+                    });
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return getConnection();
+        }
+    }
+
+    private final FakeDataSource target = new FakeDataSource();
+
+    @Test
+    void closeReturnsThePermitOnce() throws SQLException {
+        ConcurrencyLimitedDataSource ds = new ConcurrencyLimitedDataSource(target, 2, 50);
+
+        Connection a = ds.getConnection();
+        Connection b = ds.getConnection();
+        assertEquals(0, ds.availablePermits());
+
+        a.close();
+        assertEquals(1, ds.availablePermits());
+        // a second close must not hand out a permit nobody gave back
+        a.close();
+        assertEquals(1, ds.availablePermits());
+
+        b.close();
+        assertEquals(2, ds.availablePermits());
+    }
+
+    @Test
+    void failedCloseStillReturnsThePermit() throws SQLException {
+        ConcurrencyLimitedDataSource ds = new ConcurrencyLimitedDataSource(target, 1, 50);
+        Connection c = ds.getConnection();
+        target.failOnClose = true;
+
+        SQLException e = assertThrows(SQLException.class, c::close);
+        assertEquals("socket closed", e.getMessage());
+        assertEquals(1, ds.availablePermits());
+    }
+
+    @Test
+    void failedConnectReturnsThePermit() {
+        ConcurrencyLimitedDataSource ds = new ConcurrencyLimitedDataSource(target, 1, 50);
+        target.failOnConnect = true;
+
+        assertThrows(SQLException.class, ds::getConnection);
+        assertEquals(1, ds.availablePermits());
+    }
+
+    @Test
+    void callersPastTheLimitTimeOut() throws SQLException {
+        ConcurrencyLimitedDataSource ds = new ConcurrencyLimitedDataSource(target, 1, 50);
+        Connection held = ds.getConnection();
+
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, ds::getConnection);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, ds.availablePermits());
+
+        held.close();
+        ds.getConnection().close();
+    }
+
+    @Test
+    void queuedCallerGetsTheReleasedPermit() throws Exception {
+        ConcurrencyLimitedDataSource ds = new ConcurrencyLimitedDataSource(target, 1, 10_000);
+        Connection held = ds.getConnection();
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return ds.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (ds.queueLength() == 0 && System.currentTimeMillis() < deadline) Thread.sleep(1);
+        assertEquals(1, ds.queueLength());
+        assertFalse(waiting.isDone());
+
+        held.close();
+        waiting.get(5, TimeUnit.SECONDS).close();
+        assertEquals(1, ds.availablePermits());
+    }
+
+    @Test
+    void unwrapSeesTheProxyAndTheTarget() throws SQLException {
+        ConcurrencyLimitedDataSource ds = new ConcurrencyLimitedDataSource(target, 1, 50);
+        try (Connection c = ds.getConnection()) {
+            assertSame(c, c.unwrap(Connection.class));
+            assertTrue(c.isWrapperFor(Connection.class));
+        }
+        assertEquals(1, ds.availablePermits());
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.demo.common.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SlowQueryLogTests {
+
+    @Test
+    void literalsAndInListsCollapse() {
+        assertEquals("select * from t where a = ? and b = ? and c = ?",
+                SlowQueryLog.normalize("select *  from t\n where a = 'it''s' and b = -12.5 and c = 7"));
+        assertEquals("select * from t where id in (?...)",
+                SlowQueryLog.normalize("select * from t where id in (?, ?, ?)"));
+        assertEquals(SlowQueryLog.normalize("select * from t where id in (?, ?)"),
+                SlowQueryLog.normalize("select * from t where id in ( ?,? , ?, ? )"));
+    }
+
+    @Test
+    void identifiersKeepTheirDigits() {
+        assertEquals("select p1_0.id from board_posts p1_0 where p1_0.views > ? limit ?",
+                SlowQueryLog.normalize("select p1_0.id from board_posts p1_0 where p1_0.views > 100 limit 20"));
+        assertEquals("select md5(?) from t2", SlowQueryLog.normalize("select md5('x') from t2"));
+    }
+
+    @Test
+    void slowStatementsAreAggregatedByShape() {
+        SlowQueryLog log = new SlowQueryLog(0, 0, 16);
+        BindShape binds = new BindShape();
+        binds.set(1, 5L);
+        binds.set(2, null);
+        log.record("select * from t where id = 1", binds, 2_000_000);
+        log.record("select * from t where id = 2", binds, 4_000_000);
+        log.record("delete from t", null, 1_000_000);
+        log.drain();
+
+        List<SlowQueryLog.StatementStats> top = log.top(10);
+        assertEquals(2, top.size());
+        SlowQueryLog.StatementStats select = top.get(0);
+        assertEquals("select * from t where id = ?", select.sql());
+        assertEquals("Long, null", select.binds());
+        assertEquals(2, select.count());
+        assertEquals(2, select.slowCount());
+        assertEquals(4.0, select.maxMs(), 1e-9);
+        assertEquals(3.0, select.avgMs(), 1e-9);
+        assertEquals(1, log.top(1).size());
+    }
+
+    @Test
+    void fastStatementsAreSkippedWithoutSampling() {
+        SlowQueryLog log = new SlowQueryLog(1000, 0, 16);
+        log.record("select 1", null, 1_000);
+        log.drain();
+        assertEquals(List.of(), log.top(10));
+    }
+
+    @Test
+    void lappedEntriesAreCountedAsDropped() {
+        SlowQueryLog log = new SlowQueryLog(0, 0, 4);
+        for (int i = 0; i < 10; i++) log.record("select " + i, null, 1_000);
+        log.drain();
+
+        assertEquals(6, log.dropped());
+        assertEquals(1, log.top(10).size()); // every "select <n>" has the same shape
+        assertEquals(4, log.top(10).get(0).count());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RepositoryTimingInterceptorTests {
+
+    interface SampleRepository {
+        String find(long id);
+
+        void fail();
+    }
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final SampleRepository repository = proxy(new SampleRepository() {
+        @Override
+        public String find(long id) {
+            return "post " + id;
+        }
+
+        @Override
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+    });
+
+    @Test
+    void eachMethodGetsItsOwnTimer() {
+        assertEquals("post 1", repository.find(1));
+        repository.find(2);
+
+        Timer find = timer("find");
+        assertEquals(2, find.count());
+        assertTrue(find.totalTime(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(meters.find(RepositoryTimingInterceptor.METRIC).tag("method", "fail").timers().isEmpty());
+    }
+
+    @Test
+    void failedCallsAreTimedToo() {
+        assertThrows(IllegalStateException.class, repository::fail);
+
+        assertEquals(1, timer("fail").count());
+    }
+
+    @Test
+    void objectMethodsAreNotTimed() {
+        repository.toString();
+        repository.hashCode();
+
+        assertTrue(meters.find(RepositoryTimingInterceptor.METRIC).timers().isEmpty());
+    }
+
+    private Timer timer(String method) {
+        return meters.get(RepositoryTimingInterceptor.METRIC)
+                .tag("repository", "SampleRepository")
+                .tag("method", method)
+                .timer();
+    }
+
+    private SampleRepository proxy(SampleRepository target) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("meterRegistry", meters));
+        ProxyFactory proxy = new ProxyFactory(target);
+        proxy.addInterface(SampleRepository.class);
+        proxy.addAdvice(new RepositoryTimingInterceptor(beans.getBeanProvider(MeterRegistry.class), SampleRepository.class));
+        return (SampleRepository) proxy.getProxy();
+    }
+}
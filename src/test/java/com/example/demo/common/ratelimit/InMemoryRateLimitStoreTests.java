@@ -0,0 +1,54 @@
+package com.example.demo.common.ratelimit;
+
+import com.example.demo.common.ratelimit.RateLimitStore.Bandwidth;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryRateLimitStoreTests {
+
+    @Test
+    void burstUpToCapacityThenWait() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        Bandwidth perMinute = Bandwidth.perMinute(3);
+
+        assertEquals(0, store.tryConsume("k", perMinute));
+        assertEquals(0, store.tryConsume("k", perMinute));
+        assertEquals(0, store.tryConsume("k", perMinute));
+
+        long wait = store.tryConsume("k", perMinute);
+        // one token every 20 s
+        assertTrue(wait > TimeUnit.SECONDS.toNanos(19) && wait <= TimeUnit.SECONDS.toNanos(20), () -> "wait " + wait);
+        assertEquals(0, store.tryConsume("other", perMinute));
+    }
+
+    @Test
+    void refillsOverThePeriod() throws InterruptedException {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        Bandwidth fast = new Bandwidth(2, Duration.ofMillis(100));
+
+        assertEquals(0, store.tryConsume("k", fast));
+        assertEquals(0, store.tryConsume("k", fast));
+        assertTrue(store.tryConsume("k", fast) > 0);
+
+        Thread.sleep(150);
+        assertEquals(0, store.tryConsume("k", fast));
+        assertEquals(0, store.tryConsume("k", fast));
+        assertTrue(store.tryConsume("k", fast) > 0);
+    }
+
+    @Test
+    void fullyRefilledBucketsAreEvicted() throws InterruptedException {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        store.tryConsume("idle", new Bandwidth(1, Duration.ofMillis(20)));
+        store.tryConsume("busy", Bandwidth.perMinute(1));
+
+        Thread.sleep(40);
+        store.evictIdle();
+        assertEquals(1, store.size());
+    }
+}
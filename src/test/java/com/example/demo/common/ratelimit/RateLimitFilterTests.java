@@ -0,0 +1,116 @@
+package com.example.demo.common.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitFilterTests {
+
+    private final RateLimitFilter filter = new RateLimitFilter(
+            new InMemoryRateLimitStore(), JsonMapper.builder().build(), new SimpleMeterRegistry(),
+            true, 20, 2, 5, 60, 30, 1);
+
+    @Test
+    void rejectsWithRetryAfterOncePostBucketIsEmpty() throws Exception {
+        assertEquals(200, run("PUT", "/api/boards/board1/posts/5", null).getStatus());
+
+        MockHttpServletResponse rejected = run("PUT", "/api/boards/board1/posts/5", null);
+        assertEquals(429, rejected.getStatus());
+        // one token per minute
+        assertEquals("60", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(200, run("PUT", "/api/boards/board1/posts/6", null).getStatus());
+    }
+
+    @Test
+    void encodedPathsShareTheDecodedBucket() throws Exception {
+        assertEquals(200, run("DELETE", "/api/boards/board1/posts/9", null).getStatus());
+        assertEquals(429, run("DELETE", "/api/boards/%62oard1/posts/9", null).getStatus());
+        assertEquals(429, run("DELETE", "/api/boards/board1/posts/%39", null).getStatus());
+    }
+
+    @Test
+    void loginIsLimitedPerEmailAndTheBodyStillReachesTheController() throws Exception {
+        String body = "{\"email\": \"A@example.com\", \"password\": \"x\"}";
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse ok = new MockHttpServletResponse();
+        filter.doFilter(request("POST", "/auth/login", body), ok, chain);
+        assertEquals(200, ok.getStatus());
+        assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        assertEquals(200, run("POST", "/auth/login", body.replace("A@", "a@")).getStatus());
+        assertEquals(429, run("POST", "/auth/%6Cogin", body).getStatus());
+    }
+
+    @Test
+    void readsAreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, run("GET", "/api/boards/board1/posts/5", null).getStatus());
+        }
+    }
+
+    @Test
+    void postKeyOnlyForSinglePosts() {
+        assertEquals("board1/5", RateLimitFilter.postKey("/api/boards/board1/posts/5"));
+        assertNull(RateLimitFilter.postKey("/api/boards/board1/posts"));
+    }
+
+    @Test
+    void cachedBodyNotifiesReadListener() throws Exception {
+        CachedBodyRequest request = new CachedBodyRequest(new MockHttpServletRequest(), "hello".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream in = request.getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] done = {false};
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                int b;
+                while (in.isReady() && (b = in.read()) != -1) read.write(b);
+            }
+
+            @Override
+            public void onAllDataRead() {
+                done[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertEquals("hello", read.toString(StandardCharsets.UTF_8));
+        assertTrue(done[0]);
+    }
+
+    private MockHttpServletResponse run(String method, String uri, String body) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri, body), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("10.1.2.3");
+        if (body != null) {
+            request.setContentType("application/json");
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return request;
+    }
+}